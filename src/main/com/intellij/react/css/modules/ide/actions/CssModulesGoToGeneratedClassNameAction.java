@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2016-present, Jim Kynde Meyer
+ * All rights reserved.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.react.css.modules.ide.actions;
+
+import com.intellij.codeInsight.navigation.NavigationUtil;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.css.CssClass;
+import com.intellij.react.css.modules.index.CssModulesClassNameIndex;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Navigates from a class name generated by css-loader, e.g. "Button_primary__3xK9a" as seen in the DOM, to the CSS class it was generated from.
+ *
+ * @see CssModulesClassNameIndex#findClassesByGeneratedName(Project, String)
+ */
+public class CssModulesGoToGeneratedClassNameAction extends AnAction {
+
+    private static final String TITLE = "Go to CSS Module Class by Generated Name";
+
+    @Override
+    public void update(@NotNull AnActionEvent e) {
+        e.getPresentation().setEnabled(e.getProject() != null);
+    }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+        final Project project = e.getProject();
+        if (project == null) {
+            return;
+        }
+        final String input = Messages.showInputDialog(project, "Generated class name:", TITLE, null);
+        if (StringUtil.isEmptyOrSpaces(input)) {
+            return;
+        }
+        if (DumbService.isDumb(project)) {
+            DumbService.getInstance(project).showDumbModeNotification("CSS Module classes can't be looked up by generated name while indexing is in progress");
+            return;
+        }
+        final String generatedClassName = StringUtil.trimStart(input.trim(), ".");
+        final List<CssClass> cssClasses = CssModulesClassNameIndex.findClassesByGeneratedName(project, generatedClassName);
+        if (cssClasses.isEmpty()) {
+            Messages.showInfoMessage(project, "No CSS Module class found for generated name '" + generatedClassName + "'", TITLE);
+        } else if (cssClasses.size() == 1) {
+            cssClasses.get(0).navigate(true);
+        } else {
+            NavigationUtil.getPsiElementPopup(cssClasses.toArray(new PsiElement[cssClasses.size()]), "Classes generated as '" + generatedClassName + "'").showCenteredInCurrentWindow(project);
+        }
+    }
+
+}
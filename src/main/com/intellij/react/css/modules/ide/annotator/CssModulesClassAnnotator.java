@@ -10,21 +10,36 @@ package com.intellij.react.css.modules.ide.annotator;
 import com.intellij.lang.annotation.AnnotationHolder;
 import com.intellij.lang.annotation.Annotator;
 import com.intellij.lang.javascript.psi.JSLiteralExpression;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.project.DumbAware;
+import com.intellij.openapi.project.DumbService;
 import com.intellij.openapi.util.TextRange;
-import com.intellij.psi.PsiElement;
-import com.intellij.psi.PsiReference;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.psi.*;
+import com.intellij.psi.css.StylesheetFile;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
 import com.intellij.psi.xml.XmlAttributeValue;
+import com.intellij.react.css.modules.psi.CssModulesClassPsiReference;
 import com.intellij.react.css.modules.psi.CssModulesUnknownClassPsiReference;
 import com.intellij.react.css.modules.psi.CssModulesUtil;
+import com.intellij.react.css.modules.psi.CssModulesValuePsiReference;
+import com.intellij.react.css.modules.settings.CssModulesSettings;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.*;
+
 
 /**
  * Adds error markers to unknown class names.
+ * Runs in dumb mode as well, where the references fall back to the class names found by lexing the style sheet.
+ * In smart mode the unknown class names of a component are evaluated once and cached until the component or one of
+ * the style sheets it uses changes, so edits to unrelated style sheets don't re-evaluate the component's usages.
  *
  * @see CssModulesUnknownClassPsiReference
  */
-public class CssModulesClassAnnotator implements Annotator {
+public class CssModulesClassAnnotator implements Annotator, DumbAware {
 
     @Override
     public void annotate(@NotNull PsiElement psiElement, @NotNull AnnotationHolder annotationHolder) {
@@ -37,21 +52,84 @@ public class CssModulesClassAnnotator implements Annotator {
             elementToAnnotate = psiElement;
         }
         if (elementToAnnotate != null) {
-            for (PsiReference psiReference : psiElement.getReferences()) {
-                if (psiReference instanceof CssModulesUnknownClassPsiReference) {
-                    final TextRange rangeInElement = psiReference.getRangeInElement();
-                    if (rangeInElement.isEmpty()) {
-                        continue;
-                    }
-                    int start = psiElement.getTextRange().getStartOffset() + rangeInElement.getStartOffset();
-                    int length = rangeInElement.getLength();
-                    final TextRange textRange = TextRange.from(start, length);
-                    if (!textRange.isEmpty()) {
-                        final String message = "Unknown class name \"" + rangeInElement.substring(psiElement.getText()) + "\"";
-                        annotationHolder.createErrorAnnotation(textRange, message);
+            final List<TextRange> unknownClassRanges;
+            if (DumbService.isDumb(psiElement.getProject())) {
+                unknownClassRanges = getUnknownClassRanges(psiElement);
+            } else {
+                unknownClassRanges = getUnknownClassRanges(psiElement.getContainingFile()).getOrDefault(psiElement.getTextRange(), Collections.emptyList());
+            }
+            for (TextRange textRange : unknownClassRanges) {
+                final String message = "Unknown class name \"" + textRange.subSequence(psiElement.getContainingFile().getViewProvider().getContents()) + "\"";
+                annotationHolder.createErrorAnnotation(textRange, message);
+            }
+        }
+    }
+
+    /**
+     * Gets the ranges of unknown class names in a component, keyed by the range of the element that contains them.
+     * The map depends on the component, the documents of the style sheets it references, and the settings.
+     */
+    @NotNull
+    public static Map<TextRange, List<TextRange>> getUnknownClassRanges(@NotNull PsiFile componentFile) {
+        return CachedValuesManager.getCachedValue(componentFile, () -> {
+            final Map<TextRange, List<TextRange>> unknownClassRanges = new HashMap<>();
+            final Set<VirtualFile> styleSheets = new LinkedHashSet<>(CssModulesUtil.getImportedStyleSheets(componentFile));
+            componentFile.accept(new PsiRecursiveElementVisitor() {
+                @Override
+                public void visitElement(PsiElement element) {
+                    if (element instanceof JSLiteralExpression || (element instanceof XmlAttributeValue && CssModulesUtil.STYLE_NAME_FILTER.isAcceptable(element, element))) {
+                        for (PsiReference psiReference : element.getReferences()) {
+                            StylesheetFile stylesheetFile = null;
+                            if (psiReference instanceof CssModulesUnknownClassPsiReference) {
+                                stylesheetFile = ((CssModulesUnknownClassPsiReference) psiReference).getStylesheetFile();
+                                final List<TextRange> elementUnknownClassRanges = getUnknownClassRanges(element, psiReference);
+                                if (!elementUnknownClassRanges.isEmpty()) {
+                                    unknownClassRanges.computeIfAbsent(element.getTextRange(), range -> new ArrayList<>()).addAll(elementUnknownClassRanges);
+                                }
+                            } else if (psiReference instanceof CssModulesClassPsiReference) {
+                                stylesheetFile = ((CssModulesClassPsiReference) psiReference).getStylesheetFile();
+                            } else if (psiReference instanceof CssModulesValuePsiReference) {
+                                stylesheetFile = ((CssModulesValuePsiReference) psiReference).getStylesheetFile();
+                            }
+                            if (stylesheetFile != null && stylesheetFile.getVirtualFile() != null) {
+                                styleSheets.add(stylesheetFile.getVirtualFile());
+                            }
+                        }
                     }
+                    super.visitElement(element);
                 }
+            });
+            final List<Object> dependencies = new ArrayList<>();
+            dependencies.add(componentFile);
+            dependencies.add(VirtualFileManager.VFS_STRUCTURE_MODIFICATIONS);
+            dependencies.add(CssModulesSettings.getInstance(componentFile.getProject()));
+            final PsiManager psiManager = componentFile.getManager();
+            final PsiDocumentManager psiDocumentManager = PsiDocumentManager.getInstance(componentFile.getProject());
+            for (VirtualFile styleSheet : styleSheets) {
+                // documents rather than PSI files to avoid retaining the style sheet PSI in the cache
+                final PsiFile styleSheetFile = psiManager.findFile(styleSheet);
+                final Document document = styleSheetFile != null ? psiDocumentManager.getDocument(styleSheetFile) : null;
+                dependencies.add(document != null ? document : styleSheet);
             }
+            return CachedValueProvider.Result.create(unknownClassRanges, dependencies.toArray());
+        });
+    }
+
+    private static List<TextRange> getUnknownClassRanges(PsiElement element) {
+        final List<TextRange> unknownClassRanges = new ArrayList<>();
+        for (PsiReference psiReference : element.getReferences()) {
+            if (psiReference instanceof CssModulesUnknownClassPsiReference) {
+                unknownClassRanges.addAll(getUnknownClassRanges(element, psiReference));
+            }
+        }
+        return unknownClassRanges;
+    }
+
+    private static List<TextRange> getUnknownClassRanges(PsiElement element, PsiReference unknownClassReference) {
+        final TextRange rangeInElement = unknownClassReference.getRangeInElement();
+        if (rangeInElement.isEmpty()) {
+            return Collections.emptyList();
         }
+        return Collections.singletonList(rangeInElement.shiftRight(element.getTextRange().getStartOffset()));
     }
 }
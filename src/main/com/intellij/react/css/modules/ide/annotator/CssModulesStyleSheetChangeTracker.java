@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2016-present, Jim Kynde Meyer
+ * All rights reserved.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.react.css.modules.ide.annotator;
+
+import com.intellij.codeInsight.daemon.DaemonCodeAnalyzer;
+import com.intellij.lang.javascript.psi.JSFile;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.fileEditor.FileEditorManager;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.startup.StartupActivity;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.*;
+import com.intellij.psi.css.StylesheetFile;
+import com.intellij.react.css.modules.psi.CssModulesUtil;
+import com.intellij.util.containers.ContainerUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Restarts highlighting of the open components that depend on a style sheet when the style sheet PSI changes.
+ * The dependencies come from the import table of each component, so components that don't use the style sheet are left alone.
+ *
+ * @see CssModulesUtil#getImportedStyleSheets(PsiFile)
+ */
+public class CssModulesStyleSheetChangeTracker implements StartupActivity {
+
+    @Override
+    public void runActivity(@NotNull Project project) {
+        PsiManager.getInstance(project).addPsiTreeChangeListener(new StyleSheetChangeListener(project), project);
+    }
+
+    private static class StyleSheetChangeListener extends PsiTreeChangeAdapter {
+
+        private final Project project;
+        private final Set<VirtualFile> changedStyleSheets = ContainerUtil.newConcurrentSet();
+        private final AtomicBoolean restartScheduled = new AtomicBoolean();
+
+        StyleSheetChangeListener(Project project) {
+            this.project = project;
+        }
+
+        @Override
+        public void childAdded(@NotNull PsiTreeChangeEvent event) {
+            onChange(event);
+        }
+
+        @Override
+        public void childRemoved(@NotNull PsiTreeChangeEvent event) {
+            onChange(event);
+        }
+
+        @Override
+        public void childReplaced(@NotNull PsiTreeChangeEvent event) {
+            onChange(event);
+        }
+
+        @Override
+        public void childrenChanged(@NotNull PsiTreeChangeEvent event) {
+            onChange(event);
+        }
+
+        @Override
+        public void childMoved(@NotNull PsiTreeChangeEvent event) {
+            onChange(event);
+        }
+
+        private void onChange(PsiTreeChangeEvent event) {
+            final PsiFile file = event.getFile();
+            if (file instanceof StylesheetFile && file.getVirtualFile() != null) {
+                changedStyleSheets.add(file.getVirtualFile());
+                if (restartScheduled.compareAndSet(false, true)) {
+                    // resolving the import tables isn't allowed while the PSI is being changed
+                    ApplicationManager.getApplication().invokeLater(this::restartDependentComponents, project.getDisposed());
+                }
+            }
+        }
+
+        private void restartDependentComponents() {
+            restartScheduled.set(false);
+            final Set<VirtualFile> styleSheets = ContainerUtil.newHashSet(changedStyleSheets);
+            changedStyleSheets.removeAll(styleSheets);
+            if (DumbService.isDumb(project)) {
+                // the import tables need resolved references, and the platform re-highlights once indexing completes
+                return;
+            }
+            final PsiManager psiManager = PsiManager.getInstance(project);
+            final DaemonCodeAnalyzer daemonCodeAnalyzer = DaemonCodeAnalyzer.getInstance(project);
+            for (VirtualFile openFile : FileEditorManager.getInstance(project).getOpenFiles()) {
+                final PsiFile psiFile = openFile.isValid() ? psiManager.findFile(openFile) : null;
+                if (psiFile instanceof JSFile && !Collections.disjoint(CssModulesUtil.getImportedStyleSheets(psiFile), styleSheets)) {
+                    daemonCodeAnalyzer.restart(psiFile);
+                }
+            }
+        }
+    }
+
+}
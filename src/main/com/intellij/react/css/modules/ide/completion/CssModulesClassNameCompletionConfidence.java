@@ -10,6 +10,7 @@ package com.intellij.react.css.modules.ide.completion;
 
 import com.intellij.codeInsight.completion.CompletionConfidence;
 import com.intellij.lang.javascript.psi.JSLiteralExpression;
+import com.intellij.openapi.project.DumbAware;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.css.StylesheetFile;
@@ -20,7 +21,7 @@ import org.jetbrains.annotations.NotNull;
 /**
  * Enables automatic completion inside styles['completion here'] string literals (which is disabled by default in JS)
  */
-public class CssModulesClassNameCompletionConfidence extends CompletionConfidence {
+public class CssModulesClassNameCompletionConfidence extends CompletionConfidence implements DumbAware {
 
     @NotNull
     @Override
@@ -10,23 +10,28 @@ package com.intellij.react.css.modules.ide.completion;
 import com.intellij.codeInsight.completion.*;
 import com.intellij.codeInsight.lookup.LookupElementBuilder;
 import com.intellij.lang.javascript.psi.JSLiteralExpression;
+import com.intellij.openapi.project.DumbAware;
+import com.intellij.openapi.project.DumbService;
 import com.intellij.patterns.PlatformPatterns;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.css.CssClass;
 import com.intellij.psi.css.StylesheetFile;
-import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.psi.xml.XmlAttributeValue;
+import com.intellij.react.css.modules.psi.CssModulesDumbModeUtil;
 import com.intellij.react.css.modules.psi.CssModulesUtil;
 import com.intellij.util.ProcessingContext;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 
 /**
  * Completion on available class names from a require'd CSS file.
+ * The styles object also completes the '@value' names of the style sheet.
  */
-public class CssModulesClassNameCompletionContributor extends CompletionContributor {
+public class CssModulesClassNameCompletionContributor extends CompletionContributor implements DumbAware {
 
     public CssModulesClassNameCompletionContributor() {
 
@@ -41,7 +46,7 @@ public class CssModulesClassNameCompletionContributor extends CompletionContribu
                     if (CssModulesUtil.STYLE_NAME_FILTER.isAcceptable(completionElement.getParent(), completionElement)) {
                         final StylesheetFile importedStyleSheetFile = CssModulesUtil.getImportedStyleSheetFile(completionElement);
                         if (importedStyleSheetFile != null) {
-                            addCompletions(result, importedStyleSheetFile);
+                            addCompletions(result, importedStyleSheetFile, false);
                         }
                     }
                 } else if (completionElement.getParent() instanceof JSLiteralExpression) {
@@ -51,25 +56,56 @@ public class CssModulesClassNameCompletionContributor extends CompletionContribu
                     if (cssClassNamesImportOrRequire != null) {
                         final StylesheetFile stylesheetFile = CssModulesUtil.resolveStyleSheetFile(cssClassNamesImportOrRequire);
                         if (stylesheetFile != null) {
-                            addCompletions(result, stylesheetFile);
+                            addCompletions(result, stylesheetFile, true);
                         }
                     }
                 }
 
             }
 
-            private void addCompletions(@NotNull CompletionResultSet result, StylesheetFile stylesheetFile) {
-                for (CssClass cssClass : PsiTreeUtil.findChildrenOfType(stylesheetFile, CssClass.class)) {
-                    if(!CssModulesUtil.isCssModuleClass(cssClass)) {
-                        continue;
+            /**
+             * Adds the classes of the style sheet, using their exported names when completing on the styles object
+             */
+            private void addCompletions(@NotNull CompletionResultSet result, StylesheetFile stylesheetFile, boolean exportNames) {
+                if (DumbService.isDumb(stylesheetFile.getProject())) {
+                    // class names from the style sheet lexer until indexing completes
+                    final Set<String> classNames = exportNames ? CssModulesDumbModeUtil.getExportedCssClassNames(stylesheetFile) : CssModulesDumbModeUtil.getCssClassNames(stylesheetFile);
+                    for (String className : classNames) {
+                        result.addElement(LookupElementBuilder.create(className).withTypeText(stylesheetFile.getName(), true));
+                    }
+                    if (exportNames) {
+                        addValueCompletions(result, stylesheetFile);
+                    }
+                    return;
+                }
+                final Map<String, CssClass> cssClasses = exportNames ? CssModulesUtil.getCssClassesByExportName(stylesheetFile) : CssModulesUtil.getCssClasses(stylesheetFile);
+                final Map<String, String> generatedClassNames = CssModulesUtil.getGeneratedClassNames(stylesheetFile);
+                for (Map.Entry<String, CssClass> entry : cssClasses.entrySet()) {
+                    final CssClass cssClass = entry.getValue();
+                    LookupElementBuilder element = LookupElementBuilder.create(cssClass, entry.getKey()).withIcon(cssClass.getIcon(0));
+                    final String generatedClassName = generatedClassNames.get(cssClass.getName());
+                    if (generatedClassName != null) {
+                        // preview of the localIdentName
+                        element = element.withTailText(" " + generatedClassName, true);
                     }
-                    LookupElementBuilder element = LookupElementBuilder.createWithIcon(cssClass);
                     if (cssClass.getPresentation() != null) {
                         final String location = cssClass.getPresentation().getLocationString();
                         element = element.withTypeText(location, true);
                     }
                     result.addElement(element);
                 }
+                if (exportNames) {
+                    addValueCompletions(result, stylesheetFile);
+                }
+            }
+
+            /**
+             * Adds the '@value' names of the style sheet, which css-loader exports on the styles object as-is
+             */
+            private void addValueCompletions(@NotNull CompletionResultSet result, StylesheetFile stylesheetFile) {
+                for (String valueName : CssModulesUtil.getCssValueNames(stylesheetFile)) {
+                    result.addElement(LookupElementBuilder.create(valueName).withTailText(" @value", true).withTypeText(stylesheetFile.getName(), true));
+                }
             }
         };
 
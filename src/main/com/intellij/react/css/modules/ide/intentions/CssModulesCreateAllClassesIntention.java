@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2016-present, Jim Kynde Meyer
+ * All rights reserved.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.react.css.modules.ide.intentions;
+
+import com.intellij.codeInsight.FileModificationService;
+import com.intellij.lang.javascript.psi.JSLiteralExpression;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.fileEditor.FileEditorManager;
+import com.intellij.openapi.fileEditor.OpenFileDescriptor;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Ref;
+import com.intellij.psi.*;
+import com.intellij.psi.css.StylesheetFile;
+import com.intellij.psi.xml.XmlAttributeValue;
+import com.intellij.react.css.modules.psi.CssModulesUnknownClassPsiReference;
+import com.intellij.util.IncorrectOperationException;
+import org.jetbrains.annotations.Nls;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Intention for creating all missing CSS Modules classes used in a component.
+ * The rulesets are appended to each style sheet as text in a single undoable command, so the style sheets are only reparsed once.
+ */
+public class CssModulesCreateAllClassesIntention extends CssModulesUnknownClassIntention {
+
+    @Override
+    public void invoke(@NotNull Project project, Editor editor, @NotNull PsiElement element) throws IncorrectOperationException {
+        final Map<StylesheetFile, Set<String>> missingClasses = getMissingClasses(element.getContainingFile());
+        if (missingClasses.isEmpty()) {
+            return;
+        }
+        if (!FileModificationService.getInstance().preparePsiElementsForWrite(missingClasses.keySet())) {
+            return;
+        }
+        final PsiDocumentManager psiDocumentManager = PsiDocumentManager.getInstance(project);
+        final Ref<OpenFileDescriptor> caretDescriptor = new Ref<>();
+        final PsiFile[] affectedFiles = missingClasses.keySet().toArray(new PsiFile[missingClasses.size() + 1]);
+        affectedFiles[affectedFiles.length - 1] = element.getContainingFile();
+        WriteCommandAction.runWriteCommandAction(project, getText(), null, () -> {
+            for (Map.Entry<StylesheetFile, Set<String>> entry : missingClasses.entrySet()) {
+                final StylesheetFile stylesheetFile = entry.getKey();
+                final Document document = psiDocumentManager.getDocument(stylesheetFile);
+                if (document == null) {
+                    continue;
+                }
+                final StringBuilder rulesets = new StringBuilder();
+                final CharSequence existingText = document.getCharsSequence();
+                if (existingText.length() > 0 && existingText.charAt(existingText.length() - 1) != '\n') {
+                    rulesets.append('\n');
+                }
+                int firstCaretOffset = -1;
+                for (String className : entry.getValue()) {
+                    if (existingText.length() > 0 || rulesets.length() > 0) {
+                        rulesets.append('\n');
+                    }
+                    rulesets.append('.').append(className).append(" {\n");
+                    if (firstCaretOffset == -1) {
+                        firstCaretOffset = existingText.length() + rulesets.length(); // after '{\n'
+                    }
+                    rulesets.append("\n}\n");
+                }
+                document.insertString(document.getTextLength(), rulesets);
+                psiDocumentManager.commitDocument(document);
+                if (caretDescriptor.isNull() && stylesheetFile.getVirtualFile() != null) {
+                    caretDescriptor.set(new OpenFileDescriptor(project, stylesheetFile.getVirtualFile(), firstCaretOffset));
+                }
+            }
+        }, affectedFiles);
+        if (!caretDescriptor.isNull()) {
+            FileEditorManager.getInstance(project).openTextEditor(caretDescriptor.get(), true);
+        }
+    }
+
+    @Override
+    public boolean startInWriteAction() {
+        // the write command is started explicitly to include the style sheets in a single undoable step
+        return false;
+    }
+
+    @NotNull
+    @Override
+    public String getText() {
+        return "Create all missing CSS Modules classes";
+    }
+
+    @Nls
+    @NotNull
+    @Override
+    public String getFamilyName() {
+        return getText();
+    }
+
+    /**
+     * Gets the unknown class names used in the specified component, de-duplicated per style sheet in order of appearance
+     */
+    private static Map<StylesheetFile, Set<String>> getMissingClasses(PsiFile componentFile) {
+        final Map<StylesheetFile, Set<String>> missingClasses = new LinkedHashMap<>();
+        componentFile.accept(new PsiRecursiveElementVisitor() {
+            @Override
+            public void visitElement(PsiElement element) {
+                if (element instanceof XmlAttributeValue || element instanceof JSLiteralExpression) {
+                    for (PsiReference psiReference : element.getReferences()) {
+                        if (psiReference instanceof CssModulesUnknownClassPsiReference) {
+                            final String className = psiReference.getRangeInElement().substring(element.getText());
+                            final StylesheetFile stylesheetFile = ((CssModulesUnknownClassPsiReference) psiReference).getStylesheetFile();
+                            if (!className.isEmpty() && stylesheetFile != null) {
+                                missingClasses.computeIfAbsent(stylesheetFile, file -> new LinkedHashSet<>()).add(className);
+                            }
+                        }
+                    }
+                }
+                super.visitElement(element);
+            }
+        });
+        return missingClasses;
+    }
+
+}
@@ -8,9 +8,7 @@
 package com.intellij.react.css.modules.ide.intentions;
 
 import com.intellij.codeInsight.intention.HighPriorityAction;
-import com.intellij.codeInsight.intention.PsiElementBaseIntentionAction;
 import com.intellij.ide.impl.DataManagerImpl;
-import com.intellij.lang.javascript.psi.JSLiteralExpression;
 import com.intellij.openapi.actionSystem.ActionManager;
 import com.intellij.openapi.actionSystem.ActionPlaces;
 import com.intellij.openapi.actionSystem.AnAction;
@@ -25,9 +23,6 @@ import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiReference;
 import com.intellij.psi.css.CssElementFactory;
 import com.intellij.psi.css.StylesheetFile;
-import com.intellij.psi.util.PsiTreeUtil;
-import com.intellij.psi.xml.XmlAttributeValue;
-import com.intellij.psi.xml.XmlToken;
 import com.intellij.react.css.modules.psi.CssModulesUnknownClassPsiReference;
 import com.intellij.util.IncorrectOperationException;
 import org.jetbrains.annotations.Nls;
@@ -36,7 +31,7 @@ import org.jetbrains.annotations.NotNull;
 /**
  * Intention for creating a missing CSS Modules class
  */
-public class CssModulesCreateClassIntention extends PsiElementBaseIntentionAction implements HighPriorityAction {
+public class CssModulesCreateClassIntention extends CssModulesUnknownClassIntention implements HighPriorityAction {
 
     @Override
     public void invoke(@NotNull Project project, Editor editor, @NotNull PsiElement element) throws IncorrectOperationException {
@@ -45,6 +40,10 @@ public class CssModulesCreateClassIntention extends PsiElementBaseIntentionActio
             if (psiReference instanceof CssModulesUnknownClassPsiReference) {
                 final String className = psiReference.getRangeInElement().substring(intentionElement.getText());
                 final StylesheetFile stylesheetFile = ((CssModulesUnknownClassPsiReference) psiReference).getStylesheetFile();
+                if (stylesheetFile == null) {
+                    // the style sheet was deleted or replaced since the reference was created
+                    return;
+                }
                 stylesheetFile.navigate(true);
                 PsiElement ruleset = CssElementFactory.getInstance(project).createRuleset("." + className + " {\n\n}", stylesheetFile.getLanguage());
                 ruleset = stylesheetFile.add(ruleset);
@@ -71,19 +70,6 @@ public class CssModulesCreateClassIntention extends PsiElementBaseIntentionActio
         }
     }
 
-    @Override
-    public boolean isAvailable(@NotNull Project project, Editor editor, @NotNull PsiElement element) {
-        final PsiElement intentionElement = getIntentionElement(element);
-        if (intentionElement != null) {
-            for (PsiReference psiReference : intentionElement.getReferences()) {
-                if (psiReference instanceof CssModulesUnknownClassPsiReference) {
-                    return true;
-                }
-            }
-        }
-        return false;
-    }
-
     @NotNull
     @Override
     public String getText() {
@@ -97,18 +83,4 @@ public class CssModulesCreateClassIntention extends PsiElementBaseIntentionActio
         return getText();
     }
 
-
-    private PsiElement getIntentionElement(@NotNull PsiElement element) {
-        PsiElement intentionElement;
-        if (element instanceof XmlToken) {
-            intentionElement = PsiTreeUtil.getParentOfType(element, XmlAttributeValue.class);
-        } else {
-            intentionElement = PsiTreeUtil.getParentOfType(element, JSLiteralExpression.class);
-            if (intentionElement == null) {
-                intentionElement = PsiTreeUtil.getPrevSiblingOfType(element, JSLiteralExpression.class);
-            }
-        }
-        return intentionElement;
-    }
-
 }
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2016-present, Jim Kynde Meyer
+ * All rights reserved.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.react.css.modules.ide.intentions;
+
+import com.intellij.codeInsight.intention.PsiElementBaseIntentionAction;
+import com.intellij.lang.javascript.psi.JSLiteralExpression;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiReference;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.psi.xml.XmlAttributeValue;
+import com.intellij.psi.xml.XmlToken;
+import com.intellij.react.css.modules.psi.CssModulesUnknownClassPsiReference;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Base class for intentions that are available on usages of unknown CSS Modules classes
+ *
+ * @see CssModulesUnknownClassPsiReference
+ */
+abstract class CssModulesUnknownClassIntention extends PsiElementBaseIntentionAction {
+
+    @Override
+    public boolean isAvailable(@NotNull Project project, Editor editor, @NotNull PsiElement element) {
+        final PsiElement intentionElement = getIntentionElement(element);
+        if (intentionElement != null) {
+            for (PsiReference psiReference : intentionElement.getReferences()) {
+                if (psiReference instanceof CssModulesUnknownClassPsiReference) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    protected static PsiElement getIntentionElement(@NotNull PsiElement element) {
+        PsiElement intentionElement;
+        if (element instanceof XmlToken) {
+            intentionElement = PsiTreeUtil.getParentOfType(element, XmlAttributeValue.class);
+        } else {
+            intentionElement = PsiTreeUtil.getParentOfType(element, JSLiteralExpression.class);
+            if (intentionElement == null) {
+                intentionElement = PsiTreeUtil.getPrevSiblingOfType(element, JSLiteralExpression.class);
+            }
+        }
+        return intentionElement;
+    }
+
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2016-present, Jim Kynde Meyer
+ * All rights reserved.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.react.css.modules.ide.linemarker;
+
+import com.intellij.codeHighlighting.Pass;
+import com.intellij.codeInsight.daemon.LineMarkerInfo;
+import com.intellij.codeInsight.daemon.LineMarkerProvider;
+import com.intellij.codeInsight.navigation.NavigationUtil;
+import com.intellij.icons.AllIcons;
+import com.intellij.lang.javascript.psi.JSLiteralExpression;
+import com.intellij.openapi.editor.markup.GutterIconRenderer;
+import com.intellij.openapi.fileEditor.OpenFileDescriptor;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.css.CssClass;
+import com.intellij.psi.css.StylesheetFile;
+import com.intellij.psi.css.impl.CssElementTypes;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.psi.xml.XmlAttributeValue;
+import com.intellij.react.css.modules.index.CssModulesClassUsageIndex;
+import com.intellij.react.css.modules.psi.CssModulesUtil;
+import com.intellij.react.css.modules.settings.CssModulesLocalsConvention;
+import com.intellij.react.css.modules.settings.CssModulesSettings;
+import com.intellij.ui.awt.RelativePoint;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Adds a gutter icon to used CSS Modules classes that shows the usage count and navigates to the usages in components.
+ * The usages come from {@link CssModulesClassUsageIndex}, so no reference search is performed while painting.
+ * The markers are collected in the slow pass with one batched index lookup per style sheet.
+ */
+public class CssModulesClassUsageLineMarkerProvider implements LineMarkerProvider {
+
+    @Nullable
+    @Override
+    public LineMarkerInfo getLineMarkerInfo(@NotNull PsiElement element) {
+        return null;
+    }
+
+    @Override
+    public void collectSlowLineMarkers(@NotNull List<PsiElement> elements, @NotNull Collection<LineMarkerInfo> result) {
+        final Map<StylesheetFile, List<PsiElement>> classIdentifiers = new LinkedHashMap<>();
+        for (PsiElement element : elements) {
+            // line markers are added to the class name identifier since markers should be on leaf elements
+            if (element.getNode().getElementType() != CssElementTypes.CSS_IDENT || !(element.getParent() instanceof CssClass)) {
+                continue;
+            }
+            final CssClass cssClass = (CssClass) element.getParent();
+            final PsiFile containingFile = cssClass.getContainingFile();
+            if (!(containingFile instanceof StylesheetFile) || containingFile.getVirtualFile() == null || cssClass.getName() == null) {
+                continue;
+            }
+            if (CssModulesUtil.getCssClasses((StylesheetFile) containingFile).get(cssClass.getName()) != cssClass) {
+                // only the first declaration of a class is the target of references
+                continue;
+            }
+            classIdentifiers.computeIfAbsent((StylesheetFile) containingFile, file -> new ArrayList<>()).add(element);
+        }
+        for (Map.Entry<StylesheetFile, List<PsiElement>> entry : classIdentifiers.entrySet()) {
+            collectLineMarkers(entry.getKey(), entry.getValue(), result);
+        }
+    }
+
+    private static void collectLineMarkers(StylesheetFile stylesheet, List<PsiElement> classIdentifiers, Collection<LineMarkerInfo> result) {
+        final Project project = stylesheet.getProject();
+        final VirtualFile stylesheetFile = stylesheet.getVirtualFile();
+        final CssModulesLocalsConvention localsConvention = CssModulesSettings.getInstance(project).getLocalsConvention();
+        final Map<PsiElement, Set<String>> classNamesByIdentifier = new LinkedHashMap<>();
+        final Set<String> allClassNames = new LinkedHashSet<>();
+        for (PsiElement classIdentifier : classIdentifiers) {
+            final String className = ((CssClass) classIdentifier.getParent()).getName();
+            final Set<String> classNames = new LinkedHashSet<>();
+            classNames.add(className); // styleName attributes
+            classNames.addAll(localsConvention.getExportNames(className)); // styles object
+            classNamesByIdentifier.put(classIdentifier, classNames);
+            allClassNames.addAll(classNames);
+        }
+        final Map<String, Map<VirtualFile, List<Integer>>> usagesByClassName = CssModulesClassUsageIndex.getUsagesByClassName(project, stylesheetFile, allClassNames);
+        if (usagesByClassName.isEmpty()) {
+            return;
+        }
+        final Map<String, String> generatedClassNames = CssModulesUtil.getGeneratedClassNames(stylesheet);
+        for (Map.Entry<PsiElement, Set<String>> entry : classNamesByIdentifier.entrySet()) {
+            final Map<VirtualFile, List<Integer>> usages = new LinkedHashMap<>();
+            for (String className : entry.getValue()) {
+                for (Map.Entry<VirtualFile, List<Integer>> usage : usagesByClassName.getOrDefault(className, Collections.emptyMap()).entrySet()) {
+                    usages.computeIfAbsent(usage.getKey(), file -> new ArrayList<>()).addAll(usage.getValue());
+                }
+            }
+            if (!usages.isEmpty()) {
+                result.add(createLineMarker(project, stylesheetFile, entry.getKey(), entry.getValue(), usages, generatedClassNames));
+            }
+        }
+    }
+
+    private static LineMarkerInfo createLineMarker(Project project, VirtualFile stylesheetFile, PsiElement element, Set<String> classNames,
+                                                   Map<VirtualFile, List<Integer>> usages, Map<String, String> generatedClassNames) {
+        final String className = ((CssClass) element.getParent()).getName();
+        int usageCount = 0;
+        for (List<Integer> offsets : usages.values()) {
+            usageCount += offsets.size();
+        }
+        String tooltip = "Used " + usageCount + " " + StringUtil.pluralize("time", usageCount) + " in " + usages.size() + " " + StringUtil.pluralize("component", usages.size());
+        final String generatedClassName = generatedClassNames.get(className);
+        if (generatedClassName != null) {
+            tooltip += " as '" + generatedClassName + "'";
+        }
+        final String markerTooltip = tooltip;
+        return new LineMarkerInfo<>(element, element.getTextRange(), AllIcons.Gutter.ImplementedMethod, Pass.LINE_MARKERS,
+                psiElement -> markerTooltip,
+                (mouseEvent, psiElement) -> {
+                    // usages are looked up again since the index may have changed since the marker was created
+                    final Map<VirtualFile, List<Integer>> currentUsages = CssModulesClassUsageIndex.getUsages(project, stylesheetFile, classNames);
+                    final List<PsiElement> targets = getUsageElements(project, currentUsages);
+                    if (targets.size() == 1) {
+                        final Map.Entry<VirtualFile, List<Integer>> usage = currentUsages.entrySet().iterator().next();
+                        new OpenFileDescriptor(project, usage.getKey(), usage.getValue().get(0)).navigate(true);
+                    } else if (!targets.isEmpty()) {
+                        NavigationUtil.getPsiElementPopup(targets.toArray(new PsiElement[targets.size()]), "Usages of ." + className).show(new RelativePoint(mouseEvent));
+                    }
+                },
+                GutterIconRenderer.Alignment.RIGHT);
+    }
+
+    private static List<PsiElement> getUsageElements(Project project, Map<VirtualFile, List<Integer>> usages) {
+        final List<PsiElement> usageElements = new ArrayList<>();
+        final PsiManager psiManager = PsiManager.getInstance(project);
+        for (Map.Entry<VirtualFile, List<Integer>> usage : usages.entrySet()) {
+            final PsiFile psiFile = psiManager.findFile(usage.getKey());
+            if (psiFile == null) {
+                continue;
+            }
+            for (Integer offset : usage.getValue()) {
+                final PsiElement leaf = psiFile.findElementAt(offset);
+                if (leaf != null) {
+                    final PsiElement usageElement = PsiTreeUtil.getNonStrictParentOfType(leaf, JSLiteralExpression.class, XmlAttributeValue.class);
+                    usageElements.add(usageElement != null ? usageElement : leaf);
+                }
+            }
+        }
+        return usageElements;
+    }
+
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2016-present, Jim Kynde Meyer
+ * All rights reserved.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.react.css.modules.index;
+
+import com.intellij.lang.css.CSSLanguage;
+import com.intellij.openapi.fileTypes.FileType;
+import com.intellij.openapi.fileTypes.LanguageFileType;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.css.CssClass;
+import com.intellij.psi.css.StylesheetFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.react.css.modules.psi.CssModulesUtil;
+import com.intellij.react.css.modules.settings.CssModulesLocalIdentName;
+import com.intellij.react.css.modules.settings.CssModulesSettings;
+import com.intellij.util.indexing.*;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import com.intellij.util.io.VoidDataExternalizer;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Indexes the CSS Modules class names declared in style sheets, e.g. "primary" for the style sheet that declares ".primary".
+ * The index only depends on the style sheet content. The names that css-loader generates from the configured
+ * localIdentName depend on the project settings and the location of the style sheet, so they are computed at query time
+ * and cached per project.
+ *
+ * @see CssModulesLocalIdentName
+ */
+public class CssModulesClassNameIndex extends FileBasedIndexExtension<String, Void> {
+
+    public static final ID<String, Void> NAME = ID.create("com.intellij.react.css.modules.classNames");
+
+    private static final int VERSION = 1;
+
+    private static final Key<CachedValue<Map<String, List<CssClass>>>> CSS_CLASSES_BY_GENERATED_NAME = Key.create("com.intellij.react.css.modules.cssClassesByGeneratedName");
+
+    @NotNull
+    @Override
+    public ID<String, Void> getName() {
+        return NAME;
+    }
+
+    @NotNull
+    @Override
+    public DataIndexer<String, Void, FileContent> getIndexer() {
+        return inputData -> {
+            final PsiFile psiFile = inputData.getPsiFile();
+            if (!(psiFile instanceof StylesheetFile)) {
+                return Collections.emptyMap();
+            }
+            final Map<String, Void> classNames = new HashMap<>();
+            for (CssClass cssClass : PsiTreeUtil.findChildrenOfType(psiFile, CssClass.class)) {
+                final String className = cssClass.getName();
+                if (className != null && CssModulesUtil.isCssModuleClass(cssClass)) {
+                    classNames.put(className, null);
+                }
+            }
+            return classNames;
+        };
+    }
+
+    @NotNull
+    @Override
+    public KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @NotNull
+    @Override
+    public DataExternalizer<Void> getValueExternalizer() {
+        return VoidDataExternalizer.INSTANCE;
+    }
+
+    @NotNull
+    @Override
+    public FileBasedIndex.InputFilter getInputFilter() {
+        return file -> {
+            final FileType fileType = file.getFileType();
+            return fileType instanceof LanguageFileType && ((LanguageFileType) fileType).getLanguage().isKindOf(CSSLanguage.INSTANCE);
+        };
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+    @Override
+    public int getVersion() {
+        return VERSION;
+    }
+
+    /**
+     * Finds the CSS Modules classes that css-loader generates the specified name for, using the localIdentName of the project
+     *
+     * @param project            the project to search in
+     * @param generatedClassName the generated name, e.g. "Button__primary___1XFRy" as seen in the DOM
+     * @return the matching classes
+     */
+    @NotNull
+    public static List<CssClass> findClassesByGeneratedName(@NotNull Project project, @NotNull String generatedClassName) {
+        final Map<String, List<CssClass>> cssClassesByGeneratedName = CachedValuesManager.getManager(project).getCachedValue(project, CSS_CLASSES_BY_GENERATED_NAME, () -> {
+            final FileBasedIndex fileBasedIndex = FileBasedIndex.getInstance();
+            final GlobalSearchScope scope = GlobalSearchScope.projectScope(project);
+            final Set<VirtualFile> stylesheetFiles = new LinkedHashSet<>();
+            fileBasedIndex.processAllKeys(NAME, className -> {
+                stylesheetFiles.addAll(fileBasedIndex.getContainingFiles(NAME, className, scope));
+                return true;
+            }, project);
+            final PsiManager psiManager = PsiManager.getInstance(project);
+            final Map<String, List<CssClass>> result = new HashMap<>();
+            for (VirtualFile file : stylesheetFiles) {
+                final PsiFile psiFile = psiManager.findFile(file);
+                if (psiFile instanceof StylesheetFile) {
+                    final Map<String, CssClass> cssClasses = CssModulesUtil.getCssClasses((StylesheetFile) psiFile);
+                    for (Map.Entry<String, String> entry : CssModulesUtil.getGeneratedClassNames((StylesheetFile) psiFile).entrySet()) {
+                        final CssClass cssClass = cssClasses.get(entry.getKey());
+                        if (cssClass != null) {
+                            result.computeIfAbsent(entry.getValue(), generatedName -> new ArrayList<>(1)).add(cssClass);
+                        }
+                    }
+                }
+            }
+            // the generated names depend on the settings, the location of the style sheets and their classes
+            return CachedValueProvider.Result.create(result, CssModulesSettings.getInstance(project), VirtualFileManager.VFS_STRUCTURE_MODIFICATIONS, PsiModificationTracker.MODIFICATION_COUNT);
+        }, false);
+        final List<CssClass> cssClasses = cssClassesByGeneratedName.get(generatedClassName);
+        return cssClasses != null ? Collections.unmodifiableList(cssClasses) : Collections.emptyList();
+    }
+
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2016-present, Jim Kynde Meyer
+ * All rights reserved.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.react.css.modules.index;
+
+import com.intellij.lang.javascript.JSTokenTypes;
+import com.intellij.lang.javascript.JavascriptLanguage;
+import com.intellij.lang.javascript.psi.JSExpression;
+import com.intellij.lang.javascript.psi.JSIndexedPropertyAccessExpression;
+import com.intellij.lang.javascript.psi.JSLiteralExpression;
+import com.intellij.lang.javascript.psi.JSReferenceExpression;
+import com.intellij.openapi.fileTypes.FileType;
+import com.intellij.openapi.fileTypes.LanguageFileType;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Ref;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiRecursiveElementVisitor;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.psi.xml.XmlAttributeValue;
+import com.intellij.react.css.modules.psi.CssModulesDumbModeUtil;
+import com.intellij.react.css.modules.psi.CssModulesUtil;
+import com.intellij.util.indexing.*;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.IOUtil;
+import com.intellij.util.io.KeyDescriptor;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Indexes the CSS Modules class names used in JavaScript and TypeScript components.
+ * The key is the class name, and the value maps the style sheet path used in the import/require to the offsets of
+ * the usages in the component, e.g. "normal" -> {"./Component.css" -> [120, 245]}.
+ * The style sheet paths are resolved at query time, so the index only depends on the content of each component.
+ */
+public class CssModulesClassUsageIndex extends FileBasedIndexExtension<String, Map<String, List<Integer>>> {
+
+    public static final ID<String, Map<String, List<Integer>>> NAME = ID.create("com.intellij.react.css.modules.classUsages");
+
+    private static final int VERSION = 2;
+
+    /**
+     * Cheap check for a style sheet path in the file text, e.g. "./Button.css'", before the PSI is built
+     */
+    private static final Pattern STYLE_SHEET_PATH_PATTERN = Pattern.compile("\\.(?:css|scss|sass|less|styl|pcss)['\"`]");
+
+    @NotNull
+    @Override
+    public ID<String, Map<String, List<Integer>>> getName() {
+        return NAME;
+    }
+
+    @NotNull
+    @Override
+    public DataIndexer<String, Map<String, List<Integer>>, FileContent> getIndexer() {
+        return inputData -> {
+            if (!STYLE_SHEET_PATH_PATTERN.matcher(inputData.getContentAsText()).find()) {
+                // no style sheet import or require, so the PSI isn't needed, e.g. for most library files
+                return Collections.emptyMap();
+            }
+            final PsiFile psiFile = inputData.getPsiFile();
+            final Map<String, Map<String, List<Integer>>> usages = new HashMap<>();
+            final Map<String, String> styleSheetPathByStylesName = new HashMap<>();
+            final Ref<Map<String, PsiElement>> declarationsByName = new Ref<>();
+            final Ref<String> styleNameStyleSheetPath = new Ref<>();
+            psiFile.accept(new PsiRecursiveElementVisitor() {
+                @Override
+                public void visitElement(PsiElement element) {
+                    if (element instanceof XmlAttributeValue && CssModulesUtil.STYLE_NAME_FILTER.isAcceptable(element, element)) {
+                        final XmlAttributeValue xmlAttributeValue = (XmlAttributeValue) element;
+                        if (!xmlAttributeValue.getValue().startsWith("{")) {
+                            if (styleNameStyleSheetPath.isNull()) {
+                                styleNameStyleSheetPath.set(StringUtil.notNullize(CssModulesDumbModeUtil.getStyleSheetPath(psiFile)));
+                            }
+                            if (!styleNameStyleSheetPath.get().isEmpty()) {
+                                int offset = xmlAttributeValue.getValueTextRange().getStartOffset();
+                                for (String cssClassName : xmlAttributeValue.getValue().split(" ")) {
+                                    addUsage(usages, cssClassName, styleNameStyleSheetPath.get(), offset);
+                                    offset += cssClassName.length() + 1;
+                                }
+                            }
+                        }
+                    } else if (element instanceof JSLiteralExpression && isStringLiteral(element)) {
+                        final JSIndexedPropertyAccessExpression expression = PsiTreeUtil.getParentOfType(element, JSIndexedPropertyAccessExpression.class);
+                        if (expression != null && isUnqualifiedReference(expression.getQualifier())) {
+                            final String stylesName = expression.getQualifier().getText();
+                            final String styleSheetPath = styleSheetPathByStylesName.computeIfAbsent(stylesName, name -> {
+                                if (declarationsByName.isNull()) {
+                                    // collected once per file rather than once per styles variable
+                                    declarationsByName.set(CssModulesDumbModeUtil.collectDeclarationsByName(psiFile));
+                                }
+                                final PsiElement declaration = declarationsByName.get().get(name);
+                                return declaration != null ? StringUtil.notNullize(CssModulesDumbModeUtil.getStyleSheetPath(declaration)) : "";
+                            });
+                            if (!styleSheetPath.isEmpty()) {
+                                addUsage(usages, StringUtil.unquoteString(element.getText()), styleSheetPath, element.getTextOffset() + 1);
+                            }
+                        }
+                    }
+                    super.visitElement(element);
+                }
+            });
+            return usages;
+        };
+    }
+
+    @NotNull
+    @Override
+    public KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @NotNull
+    @Override
+    public DataExternalizer<Map<String, List<Integer>>> getValueExternalizer() {
+        return new DataExternalizer<Map<String, List<Integer>>>() {
+            @Override
+            public void save(@NotNull DataOutput out, Map<String, List<Integer>> value) throws IOException {
+                DataInputOutputUtil.writeINT(out, value.size());
+                for (Map.Entry<String, List<Integer>> entry : value.entrySet()) {
+                    IOUtil.writeUTF(out, entry.getKey());
+                    DataInputOutputUtil.writeINT(out, entry.getValue().size());
+                    for (Integer offset : entry.getValue()) {
+                        DataInputOutputUtil.writeINT(out, offset);
+                    }
+                }
+            }
+
+            @Override
+            public Map<String, List<Integer>> read(@NotNull DataInput in) throws IOException {
+                final int size = DataInputOutputUtil.readINT(in);
+                final Map<String, List<Integer>> value = new HashMap<>(size);
+                for (int i = 0; i < size; i++) {
+                    final String styleSheetPath = IOUtil.readUTF(in);
+                    final int offsetCount = DataInputOutputUtil.readINT(in);
+                    final List<Integer> offsets = new ArrayList<>(offsetCount);
+                    for (int j = 0; j < offsetCount; j++) {
+                        offsets.add(DataInputOutputUtil.readINT(in));
+                    }
+                    value.put(styleSheetPath, offsets);
+                }
+                return value;
+            }
+        };
+    }
+
+    @NotNull
+    @Override
+    public FileBasedIndex.InputFilter getInputFilter() {
+        return file -> {
+            final FileType fileType = file.getFileType();
+            return fileType instanceof LanguageFileType && ((LanguageFileType) fileType).getLanguage().isKindOf(JavascriptLanguage.INSTANCE);
+        };
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+    @Override
+    public int getVersion() {
+        return VERSION;
+    }
+
+    /**
+     * Gets the indexed usages of a CSS Modules class declared in the specified style sheet
+     *
+     * @param project        the project to search in
+     * @param stylesheetFile the style sheet that declares the class
+     * @param classNames     the names the class is used by, i.e. the class name and the names it is exported as
+     * @return the usage offsets per component file
+     */
+    @NotNull
+    public static Map<VirtualFile, List<Integer>> getUsages(@NotNull Project project, @NotNull VirtualFile stylesheetFile, @NotNull Collection<String> classNames) {
+        final Map<VirtualFile, List<Integer>> usages = new LinkedHashMap<>();
+        for (Map<VirtualFile, List<Integer>> classNameUsages : getUsagesByClassName(project, stylesheetFile, classNames).values()) {
+            for (Map.Entry<VirtualFile, List<Integer>> entry : classNameUsages.entrySet()) {
+                usages.computeIfAbsent(entry.getKey(), f -> new ArrayList<>()).addAll(entry.getValue());
+            }
+        }
+        return usages;
+    }
+
+    /**
+     * Gets the indexed usages of several names in one pass, resolving the style sheet path of each component only once
+     *
+     * @param project        the project to search in
+     * @param stylesheetFile the style sheet that declares the classes
+     * @param classNames     the class names and exported names to get usages for
+     * @return the usage offsets per component file, keyed by the name used in the component. Unused names are left out.
+     */
+    @NotNull
+    public static Map<String, Map<VirtualFile, List<Integer>>> getUsagesByClassName(@NotNull Project project, @NotNull VirtualFile stylesheetFile, @NotNull Collection<String> classNames) {
+        final Map<String, Map<VirtualFile, List<Integer>>> usages = new LinkedHashMap<>();
+        final Map<VirtualFile, Map<String, Boolean>> resolvedStyleSheetPaths = new HashMap<>();
+        final GlobalSearchScope scope = GlobalSearchScope.projectScope(project);
+        for (String className : classNames) {
+            FileBasedIndex.getInstance().processValues(NAME, className, null, (file, value) -> {
+                final Map<String, Boolean> componentPaths = resolvedStyleSheetPaths.computeIfAbsent(file, f -> new HashMap<>());
+                for (Map.Entry<String, List<Integer>> entry : value.entrySet()) {
+                    final boolean matches = componentPaths.computeIfAbsent(entry.getKey(), path -> stylesheetFile.equals(resolveStyleSheetPath(file, path)));
+                    if (matches) {
+                        usages.computeIfAbsent(className, name -> new LinkedHashMap<>()).computeIfAbsent(file, f -> new ArrayList<>()).addAll(entry.getValue());
+                    }
+                }
+                return true;
+            }, scope);
+        }
+        return usages;
+    }
+
+    private static VirtualFile resolveStyleSheetPath(VirtualFile componentFile, String styleSheetPath) {
+        if (styleSheetPath.startsWith(".") && componentFile.getParent() != null) {
+            return componentFile.getParent().findFileByRelativePath(styleSheetPath);
+        }
+        return null;
+    }
+
+    private static void addUsage(Map<String, Map<String, List<Integer>>> usages, String cssClassName, String styleSheetPath, int offset) {
+        if (!cssClassName.isEmpty()) {
+            usages.computeIfAbsent(cssClassName, name -> new HashMap<>()).computeIfAbsent(styleSheetPath, path -> new ArrayList<>()).add(offset);
+        }
+    }
+
+    private static boolean isUnqualifiedReference(JSExpression expression) {
+        return expression instanceof JSReferenceExpression && ((JSReferenceExpression) expression).getQualifier() == null;
+    }
+
+    private static boolean isStringLiteral(PsiElement element) {
+        return element.getNode().getFirstChildNode() != null && element.getNode().getFirstChildNode().getElementType() == JSTokenTypes.STRING_LITERAL;
+    }
+
+}
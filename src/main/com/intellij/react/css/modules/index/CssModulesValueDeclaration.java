@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2016-present, Jim Kynde Meyer
+ * All rights reserved.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.react.css.modules.index;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A CSS Modules '@value' in a style sheet, either declared locally, e.g. '@value primary: #f00;', or imported from
+ * another style sheet, e.g. '@value primary as brand from "./colors.css";' which declares 'brand'.
+ */
+public class CssModulesValueDeclaration {
+
+    private static final Pattern VALUE_PATTERN = Pattern.compile("@value\\s+([^;{}]+?)\\s*(?:;|$)", Pattern.MULTILINE);
+    private static final Pattern IMPORT_PATTERN = Pattern.compile("^(.+?)\\s+from\\s+(['\"])(.+?)\\2$", Pattern.DOTALL);
+    private static final Pattern IMPORTED_NAME_PATTERN = Pattern.compile("([\\w-]+)(?:\\s+as\\s+([\\w-]+))?");
+    private static final Pattern LOCAL_NAME_PATTERN = Pattern.compile("^([\\w-]+)");
+
+    private final String name;
+    private final int offset;
+    private final String importPath;
+    private final String importedName;
+
+    public CssModulesValueDeclaration(@NotNull String name, int offset, @Nullable String importPath, @Nullable String importedName) {
+        this.name = name;
+        this.offset = offset;
+        this.importPath = importPath;
+        this.importedName = importedName;
+    }
+
+    /**
+     * Finds the '@value' declarations and imports in style sheet text. Declarations inside comments are skipped.
+     *
+     * @param text         the text of the style sheet
+     * @param lineComments whether the style sheet language supports '//' line comments, e.g. SCSS and Less
+     * @return the declared names, in order of appearance
+     */
+    @NotNull
+    public static List<CssModulesValueDeclaration> parse(@NotNull CharSequence text, boolean lineComments) {
+        final List<CssModulesValueDeclaration> declarations = new ArrayList<>();
+        final Matcher valueMatcher = VALUE_PATTERN.matcher(blankComments(text, lineComments));
+        while (valueMatcher.find()) {
+            final String value = valueMatcher.group(1);
+            final int valueOffset = valueMatcher.start(1);
+            final Matcher importMatcher = IMPORT_PATTERN.matcher(value);
+            if (importMatcher.matches()) {
+                final Matcher importedNameMatcher = IMPORTED_NAME_PATTERN.matcher(importMatcher.group(1));
+                while (importedNameMatcher.find()) {
+                    final boolean alias = importedNameMatcher.group(2) != null;
+                    final String localName = alias ? importedNameMatcher.group(2) : importedNameMatcher.group(1);
+                    final int localNameOffset = valueOffset + (alias ? importedNameMatcher.start(2) : importedNameMatcher.start(1));
+                    declarations.add(new CssModulesValueDeclaration(localName, localNameOffset, importMatcher.group(3), importedNameMatcher.group(1)));
+                }
+            } else {
+                final Matcher localNameMatcher = LOCAL_NAME_PATTERN.matcher(value);
+                if (localNameMatcher.find()) {
+                    declarations.add(new CssModulesValueDeclaration(localNameMatcher.group(1), valueOffset, null, null));
+                }
+            }
+        }
+        return declarations;
+    }
+
+    /**
+     * Replaces comments with spaces, keeping the offsets of the remaining text. Comment markers inside strings are ignored.
+     */
+    private static CharSequence blankComments(CharSequence text, boolean lineComments) {
+        final StringBuilder result = new StringBuilder(text);
+        char quote = 0;
+        int i = 0;
+        while (i < result.length()) {
+            final char c = result.charAt(i);
+            final char next = i + 1 < result.length() ? result.charAt(i + 1) : 0;
+            if (quote != 0) {
+                if (c == '\\') {
+                    i++;
+                } else if (c == quote || c == '\n') {
+                    quote = 0;
+                }
+                i++;
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+                i++;
+            } else if (c == '/' && next == '*') {
+                final int end = result.indexOf("*/", i + 2);
+                i = blank(result, i, end == -1 ? result.length() : end + 2);
+            } else if (lineComments && c == '/' && next == '/') {
+                final int end = result.indexOf("\n", i + 2);
+                i = blank(result, i, end == -1 ? result.length() : end);
+            } else {
+                i++;
+            }
+        }
+        return result;
+    }
+
+    private static int blank(StringBuilder text, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (text.charAt(i) != '\n') {
+                text.setCharAt(i, ' ');
+            }
+        }
+        return end;
+    }
+
+    /**
+     * The name declared in the style sheet, i.e. the alias for imports using 'as'
+     */
+    @NotNull
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * The offset of the declared name in the style sheet
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * The path of the style sheet the value is imported from, or <code>null</code> for local declarations
+     */
+    @Nullable
+    public String getImportPath() {
+        return importPath;
+    }
+
+    /**
+     * The name of the value in the style sheet it is imported from, or <code>null</code> for local declarations
+     */
+    @Nullable
+    public String getImportedName() {
+        return importedName;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final CssModulesValueDeclaration that = (CssModulesValueDeclaration) o;
+        return offset == that.offset && name.equals(that.name) && Objects.equals(importPath, that.importPath) && Objects.equals(importedName, that.importedName);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, offset, importPath, importedName);
+    }
+}
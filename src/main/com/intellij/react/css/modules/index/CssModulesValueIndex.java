@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2016-present, Jim Kynde Meyer
+ * All rights reserved.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.react.css.modules.index;
+
+import com.intellij.lang.css.CSSLanguage;
+import com.intellij.openapi.fileTypes.FileType;
+import com.intellij.openapi.fileTypes.LanguageFileType;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.indexing.*;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.IOUtil;
+import com.intellij.util.io.KeyDescriptor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Indexes the CSS Modules '@value' declarations of style sheets along with the style sheet paths they are imported from,
+ * e.g. '@value primary as brand from "./colors.css";' is stored as an edge from 'brand' to 'primary' in "./colors.css".
+ * The key is the declared value name. Import chains are followed through the index, so only the style sheet that
+ * declares the value locally is parsed when a reference is resolved.
+ *
+ * @see CssModulesValueDeclaration
+ */
+public class CssModulesValueIndex extends FileBasedIndexExtension<String, CssModulesValueDeclaration> {
+
+    public static final ID<String, CssModulesValueDeclaration> NAME = ID.create("com.intellij.react.css.modules.values");
+
+    private static final int VERSION = 2;
+
+    @NotNull
+    @Override
+    public ID<String, CssModulesValueDeclaration> getName() {
+        return NAME;
+    }
+
+    @NotNull
+    @Override
+    public DataIndexer<String, CssModulesValueDeclaration, FileContent> getIndexer() {
+        return inputData -> {
+            final FileType fileType = inputData.getFileType();
+            final boolean lineComments = fileType instanceof LanguageFileType && ((LanguageFileType) fileType).getLanguage() != CSSLanguage.INSTANCE;
+            final Map<String, CssModulesValueDeclaration> declarations = new HashMap<>();
+            for (CssModulesValueDeclaration declaration : CssModulesValueDeclaration.parse(inputData.getContentAsText(), lineComments)) {
+                declarations.putIfAbsent(declaration.getName(), declaration);
+            }
+            return declarations;
+        };
+    }
+
+    @NotNull
+    @Override
+    public KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @NotNull
+    @Override
+    public DataExternalizer<CssModulesValueDeclaration> getValueExternalizer() {
+        return new DataExternalizer<CssModulesValueDeclaration>() {
+            @Override
+            public void save(@NotNull DataOutput out, CssModulesValueDeclaration declaration) throws IOException {
+                IOUtil.writeUTF(out, declaration.getName());
+                DataInputOutputUtil.writeINT(out, declaration.getOffset());
+                out.writeBoolean(declaration.getImportPath() != null);
+                if (declaration.getImportPath() != null) {
+                    IOUtil.writeUTF(out, declaration.getImportPath());
+                    IOUtil.writeUTF(out, declaration.getImportedName());
+                }
+            }
+
+            @Override
+            public CssModulesValueDeclaration read(@NotNull DataInput in) throws IOException {
+                final String name = IOUtil.readUTF(in);
+                final int offset = DataInputOutputUtil.readINT(in);
+                if (in.readBoolean()) {
+                    final String importPath = IOUtil.readUTF(in);
+                    final String importedName = IOUtil.readUTF(in);
+                    return new CssModulesValueDeclaration(name, offset, importPath, importedName);
+                }
+                return new CssModulesValueDeclaration(name, offset, null, null);
+            }
+        };
+    }
+
+    @NotNull
+    @Override
+    public FileBasedIndex.InputFilter getInputFilter() {
+        return file -> {
+            final FileType fileType = file.getFileType();
+            return fileType instanceof LanguageFileType && ((LanguageFileType) fileType).getLanguage().isKindOf(CSSLanguage.INSTANCE);
+        };
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+    @Override
+    public int getVersion() {
+        return VERSION;
+    }
+
+    /**
+     * Gets the '@value' declaration or import of a value in a style sheet
+     *
+     * @param project        the project the style sheet belongs to
+     * @param stylesheetFile the style sheet to look in
+     * @param valueName      the declared name, i.e. the alias for imports using 'as'
+     * @return the declaration, or <code>null</code> if the style sheet doesn't declare the value
+     */
+    @Nullable
+    public static CssModulesValueDeclaration getDeclaration(@NotNull Project project, @NotNull VirtualFile stylesheetFile, @NotNull String valueName) {
+        final List<CssModulesValueDeclaration> declarations = FileBasedIndex.getInstance().getValues(NAME, valueName, GlobalSearchScope.fileScope(project, stylesheetFile));
+        return declarations.isEmpty() ? null : declarations.get(0);
+    }
+
+    /**
+     * Resolves a value to its local declaration by following the import edges between style sheets,
+     * e.g. 'brand' in "Button.css" -> 'primary' in "theme.css" -> '@value primary: #f00;' in "colors.css"
+     *
+     * @param project        the project the style sheet belongs to
+     * @param stylesheetFile the style sheet the value is used from
+     * @param valueName      the name of the value in the style sheet
+     * @return the name of the local declaration, the last resolvable import if the chain is broken or cyclic,
+     * or <code>null</code> if the style sheet doesn't declare the value
+     */
+    @Nullable
+    public static PsiElement resolveValue(@NotNull Project project, @NotNull VirtualFile stylesheetFile, @NotNull String valueName) {
+        final Set<VirtualFile> visited = new HashSet<>();
+        VirtualFile currentFile = stylesheetFile;
+        String currentName = valueName;
+        while (visited.add(currentFile)) {
+            final CssModulesValueDeclaration declaration = getDeclaration(project, currentFile, currentName);
+            if (declaration == null) {
+                return null;
+            }
+            final VirtualFile importedFile = declaration.getImportPath() != null ? resolveStyleSheetPath(currentFile, declaration.getImportPath()) : null;
+            if (importedFile == null || visited.contains(importedFile) || getDeclaration(project, importedFile, declaration.getImportedName()) == null) {
+                return findElementAt(project, currentFile, declaration.getOffset());
+            }
+            currentFile = importedFile;
+            currentName = declaration.getImportedName();
+        }
+        return null;
+    }
+
+    private static PsiElement findElementAt(Project project, VirtualFile file, int offset) {
+        final PsiFile psiFile = PsiManager.getInstance(project).findFile(file);
+        return psiFile != null ? psiFile.findElementAt(offset) : null;
+    }
+
+    private static VirtualFile resolveStyleSheetPath(VirtualFile stylesheetFile, String styleSheetPath) {
+        if (styleSheetPath.startsWith(".") && stylesheetFile.getParent() != null) {
+            final VirtualFile importedFile = stylesheetFile.getParent().findFileByRelativePath(styleSheetPath);
+            return importedFile != null && !importedFile.isDirectory() ? importedFile : null;
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2016-present, Jim Kynde Meyer
+ * All rights reserved.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.react.css.modules.psi;
+
+import com.intellij.openapi.util.TextRange;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiReferenceBase;
+import com.intellij.psi.SmartPointerManager;
+import com.intellij.psi.SmartPsiElementPointer;
+import com.intellij.psi.css.CssClass;
+import com.intellij.psi.css.StylesheetFile;
+import com.intellij.react.css.modules.settings.CssModulesSettings;
+import com.intellij.util.IncorrectOperationException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Represents a reference to a known CSS class in a specific style sheet file.
+ * Only the class name and a smart pointer to the style sheet are kept, so the reference doesn't retain the style sheet PSI.
+ * The class is resolved lazily using the cached class map of the style sheet, or the export table for names used on
+ * the styles object.
+ *
+ * @see CssModulesUtil#getCssClasses(StylesheetFile)
+ * @see CssModulesUtil#getCssClassesByExportName(StylesheetFile)
+ */
+public class CssModulesClassPsiReference extends PsiReferenceBase<PsiElement> {
+
+    private final String className;
+    private final boolean exportName;
+    private final SmartPsiElementPointer<StylesheetFile> stylesheetFilePointer;
+
+    /**
+     * @param className  the class name as written in the element
+     * @param exportName whether the class name is an exported name on the styles object, e.g. "navItem" for ".nav-item"
+     */
+    public CssModulesClassPsiReference(@NotNull PsiElement element, TextRange rangeInElement, @NotNull String className, @NotNull StylesheetFile stylesheetFile, boolean exportName) {
+        super(element, rangeInElement);
+        this.className = className;
+        this.exportName = exportName;
+        this.stylesheetFilePointer = SmartPointerManager.getInstance(element.getProject()).createSmartPsiElementPointer(stylesheetFile);
+    }
+
+    @Nullable
+    @Override
+    public PsiElement resolve() {
+        final StylesheetFile stylesheetFile = getStylesheetFile();
+        if (stylesheetFile != null) {
+            if (exportName) {
+                return CssModulesUtil.getCssClassesByExportName(stylesheetFile).get(className);
+            }
+            return CssModulesUtil.getCssClasses(stylesheetFile).get(className);
+        }
+        return null;
+    }
+
+    @Override
+    public PsiElement handleElementRename(String newElementName) throws IncorrectOperationException {
+        if (exportName) {
+            final PsiElement cssClass = resolve();
+            if (cssClass instanceof CssClass && !className.equals(((CssClass) cssClass).getName())) {
+                // keep using the converted name, e.g. "navItem" -> "menuItem" when ".nav-item" is renamed to ".menu-item"
+                final List<String> exportNames = CssModulesSettings.getInstance(getElement().getProject()).getLocalsConvention().getExportNames(newElementName);
+                return super.handleElementRename(exportNames.get(exportNames.size() - 1));
+            }
+        }
+        return super.handleElementRename(newElementName);
+    }
+
+    @NotNull
+    @Override
+    public Object[] getVariants() {
+        return new Object[0];
+    }
+
+    @NotNull
+    public String getClassName() {
+        return className;
+    }
+
+    @Nullable
+    public StylesheetFile getStylesheetFile() {
+        return stylesheetFilePointer.getElement();
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2016-present, Jim Kynde Meyer
+ * All rights reserved.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.react.css.modules.psi;
+
+import com.intellij.lang.javascript.psi.JSLiteralExpression;
+import com.intellij.openapi.application.QueryExecutorBase;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiReference;
+import com.intellij.psi.css.CssClass;
+import com.intellij.psi.css.StylesheetFile;
+import com.intellij.psi.search.SearchScope;
+import com.intellij.psi.search.searches.ReferencesSearch;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.react.css.modules.index.CssModulesClassUsageIndex;
+import com.intellij.util.Processor;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Finds the usages of a CSS Modules class by the names it is exported as on the styles object, e.g. styles['navItem']
+ * for '.nav-item' with the camelCase locals convention. The platform word search only finds usages of the class name
+ * itself, so the usages of the other export names are looked up in {@link CssModulesClassUsageIndex}.
+ * Rename relies on this search to update the exported names.
+ */
+public class CssModulesClassReferencesSearcher extends QueryExecutorBase<PsiReference, ReferencesSearch.SearchParameters> {
+
+    public CssModulesClassReferencesSearcher() {
+        super(true);
+    }
+
+    @Override
+    public void processQuery(@NotNull ReferencesSearch.SearchParameters queryParameters, @NotNull Processor<PsiReference> consumer) {
+        final PsiElement elementToSearch = queryParameters.getElementToSearch();
+        if (!(elementToSearch instanceof CssClass)) {
+            return;
+        }
+        final CssClass cssClass = (CssClass) elementToSearch;
+        final String className = cssClass.getName();
+        final PsiFile containingFile = cssClass.getContainingFile();
+        if (className == null || !(containingFile instanceof StylesheetFile) || containingFile.getVirtualFile() == null) {
+            return;
+        }
+        final Project project = cssClass.getProject();
+        if (DumbService.isDumb(project)) {
+            return;
+        }
+        final Set<String> exportNames = new LinkedHashSet<>();
+        for (Map.Entry<String, CssClass> entry : CssModulesUtil.getCssClassesByExportName((StylesheetFile) containingFile).entrySet()) {
+            if (entry.getValue() == cssClass && !entry.getKey().equals(className)) {
+                // the class name itself is found by the platform word search
+                exportNames.add(entry.getKey());
+            }
+        }
+        if (exportNames.isEmpty()) {
+            return;
+        }
+        final SearchScope searchScope = queryParameters.getEffectiveSearchScope();
+        final PsiManager psiManager = PsiManager.getInstance(project);
+        final Map<VirtualFile, List<Integer>> usages = CssModulesClassUsageIndex.getUsages(project, containingFile.getVirtualFile(), exportNames);
+        for (Map.Entry<VirtualFile, List<Integer>> usage : usages.entrySet()) {
+            if (!searchScope.contains(usage.getKey())) {
+                continue;
+            }
+            final PsiFile componentFile = psiManager.findFile(usage.getKey());
+            if (componentFile == null) {
+                continue;
+            }
+            for (Integer offset : usage.getValue()) {
+                final JSLiteralExpression literal = PsiTreeUtil.getNonStrictParentOfType(componentFile.findElementAt(offset), JSLiteralExpression.class);
+                if (literal == null) {
+                    continue;
+                }
+                for (PsiReference reference : literal.getReferences()) {
+                    if (reference instanceof CssModulesClassPsiReference && exportNames.contains(((CssModulesClassPsiReference) reference).getClassName())
+                            && reference.isReferenceTo(cssClass) && !consumer.process(reference)) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+}
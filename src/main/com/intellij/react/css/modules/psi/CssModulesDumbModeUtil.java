@@ -0,0 +1,324 @@
+/*
+ * Copyright (c) 2016-present, Jim Kynde Meyer
+ * All rights reserved.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.react.css.modules.psi;
+
+import com.intellij.lang.LanguageParserDefinitions;
+import com.intellij.lang.ParserDefinition;
+import com.intellij.lang.css.CSSLanguage;
+import com.intellij.lang.ecmascript6.psi.ES6ImportedBinding;
+import com.intellij.lang.javascript.JSTokenTypes;
+import com.intellij.lang.javascript.psi.JSExpression;
+import com.intellij.lang.javascript.psi.JSIndexedPropertyAccessExpression;
+import com.intellij.lang.javascript.psi.JSLiteralExpression;
+import com.intellij.lang.javascript.psi.JSReferenceExpression;
+import com.intellij.lang.javascript.psi.JSVariable;
+import com.intellij.lexer.Lexer;
+import com.intellij.openapi.fileTypes.FileType;
+import com.intellij.openapi.fileTypes.FileTypeManager;
+import com.intellij.openapi.fileTypes.LanguageFileType;
+import com.intellij.openapi.util.Ref;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiRecursiveElementVisitor;
+import com.intellij.psi.css.StylesheetFile;
+import com.intellij.psi.css.impl.CssElementTypes;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.react.css.modules.index.CssModulesValueDeclaration;
+import com.intellij.react.css.modules.settings.CssModulesSettings;
+import com.intellij.util.PathUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index-free fallbacks for finding imported style sheets and their class names while the IDE is in dumb mode.
+ * Style sheets are found by resolving import/require paths relative to the component, and class names are found by
+ * running the style sheet lexer over the file text, so neither PSI references nor indexes are used.
+ * The path helpers only inspect the PSI of the component itself, which also makes them safe to use from indexers.
+ */
+public class CssModulesDumbModeUtil {
+
+    /**
+     * Finds the first style sheet import/require in the containing file of the specified element
+     *
+     * @param cssReferencingElement starting point for finding an imported style sheet file
+     * @return the PSI file for the first imported style sheet file
+     */
+    @Nullable
+    public static StylesheetFile getImportedStyleSheetFile(PsiElement cssReferencingElement) {
+        return resolveStyleSheetFile(cssReferencingElement.getContainingFile());
+    }
+
+    /**
+     * Gets the import/require declaration that a string literal belongs to by matching the name of the styles
+     * variable against the declarations in the containing file, e.g. 'normal' -> 'const styles = require("./foo.css")'
+     *
+     * @param classNameLiteral a string literal that is potentially a CSS class name
+     * @return the declaration of the styles variable, or <code>null</code> if the PSI structure doesn't match
+     */
+    @Nullable
+    public static PsiElement getCssClassNamesImportOrRequireDeclaration(JSLiteralExpression classNameLiteral) {
+        final JSIndexedPropertyAccessExpression expression = PsiTreeUtil.getParentOfType(classNameLiteral, JSIndexedPropertyAccessExpression.class);
+        if (expression != null) {
+            final JSExpression qualifier = expression.getQualifier();
+            if (qualifier instanceof JSReferenceExpression && ((JSReferenceExpression) qualifier).getQualifier() == null) {
+                final String stylesName = ((JSReferenceExpression) qualifier).getReferenceName();
+                if (stylesName != null) {
+                    return getDeclarationsByName(classNameLiteral.getContainingFile()).get(stylesName);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the variable declarations and ES6 imports of a file by name, so styles variables are found without
+     * re-scanning the file for every literal. The map is cached until the file changes.
+     *
+     * @see #collectDeclarationsByName(PsiFile)
+     */
+    private static Map<String, PsiElement> getDeclarationsByName(@NotNull PsiFile file) {
+        return CachedValuesManager.getCachedValue(file, () -> CachedValueProvider.Result.create(collectDeclarationsByName(file), file));
+    }
+
+    /**
+     * Collects the variable declarations and ES6 imports of a file by name in a single pass over the file.
+     * Variables take precedence over imports. Unlike {@link #getCssClassNamesImportOrRequireDeclaration(JSLiteralExpression)}
+     * nothing is cached, which makes this safe to use from indexers.
+     *
+     * @param file the file to collect declarations from
+     * @return the declarations, where imports map to the import declaration that contains the binding
+     */
+    @NotNull
+    public static Map<String, PsiElement> collectDeclarationsByName(@NotNull PsiFile file) {
+        final Map<String, PsiElement> variables = new HashMap<>();
+        final Map<String, PsiElement> imports = new HashMap<>();
+        file.accept(new PsiRecursiveElementVisitor() {
+            @Override
+            public void visitElement(PsiElement element) {
+                if (element instanceof JSVariable && ((JSVariable) element).getName() != null) {
+                    variables.putIfAbsent(((JSVariable) element).getName(), element);
+                } else if (element instanceof ES6ImportedBinding && ((ES6ImportedBinding) element).getName() != null) {
+                    imports.putIfAbsent(((ES6ImportedBinding) element).getName(), element.getParent());
+                }
+                super.visitElement(element);
+            }
+        });
+        imports.forEach(variables::putIfAbsent);
+        return variables;
+    }
+
+    /**
+     * Resolves the first style sheet path string literal inside the specified element, e.g. "./foo.css" in a require or import
+     *
+     * @param cssFileNameLiteralParent parent element to a file name string literal that points to a style sheet file
+     * @return the matching style sheet PSI file, or <code>null</code> if the file can't be resolved
+     */
+    @Nullable
+    public static StylesheetFile resolveStyleSheetFile(PsiElement cssFileNameLiteralParent) {
+        final String styleSheetPath = getStyleSheetPath(cssFileNameLiteralParent);
+        if (styleSheetPath != null) {
+            return resolveStyleSheetPath(cssFileNameLiteralParent.getContainingFile(), styleSheetPath);
+        }
+        return null;
+    }
+
+    /**
+     * Gets the first string literal inside the specified element whose value has a style sheet file extension
+     *
+     * @param cssFileNameLiteralParent parent element to a file name string literal
+     * @return the unquoted path, e.g. "./foo.css", or <code>null</code> if no style sheet path is present
+     */
+    @Nullable
+    public static String getStyleSheetPath(PsiElement cssFileNameLiteralParent) {
+        final Ref<String> styleSheetPath = new Ref<>();
+        cssFileNameLiteralParent.accept(new PsiRecursiveElementVisitor() {
+            @Override
+            public void visitElement(PsiElement element) {
+                if (styleSheetPath.get() != null) {
+                    return;
+                }
+                if (element.getNode() != null && element.getNode().getElementType() == JSTokenTypes.STRING_LITERAL) {
+                    final String path = StringUtil.unquoteString(element.getText());
+                    if (isStyleSheetPath(path)) {
+                        styleSheetPath.set(path);
+                        return;
+                    }
+                }
+                super.visitElement(element);
+            }
+        });
+        return styleSheetPath.get();
+    }
+
+    /**
+     * Resolves a relative style sheet path against the directory of the specified file using only the virtual file system
+     *
+     * @param contextFile    the file that contains the path
+     * @param styleSheetPath the relative path, e.g. "./foo.css"
+     * @return the matching style sheet PSI file, or <code>null</code> if the path isn't relative or doesn't point to a style sheet
+     */
+    @Nullable
+    public static StylesheetFile resolveStyleSheetPath(@NotNull PsiFile contextFile, @NotNull String styleSheetPath) {
+        if (!styleSheetPath.startsWith(".")) {
+            // module paths depend on the node resolution rules and can't be resolved from the file system alone
+            return null;
+        }
+        final VirtualFile contextVirtualFile = contextFile.getOriginalFile().getVirtualFile();
+        if (contextVirtualFile == null || contextVirtualFile.getParent() == null) {
+            return null;
+        }
+        final VirtualFile styleSheetVirtualFile = contextVirtualFile.getParent().findFileByRelativePath(styleSheetPath);
+        if (styleSheetVirtualFile != null && !styleSheetVirtualFile.isDirectory()) {
+            final PsiFile psiFile = PsiManager.getInstance(contextFile.getProject()).findFile(styleSheetVirtualFile);
+            if (psiFile instanceof StylesheetFile) {
+                return (StylesheetFile) psiFile;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the CSS Modules class names declared in the specified style sheet by lexing its text.
+     * Classes inside :global(...) are excluded. The names are cached until the style sheet changes.
+     *
+     * @param stylesheetFile the style sheet to scan
+     * @return the class names without the leading ".", in order of declaration
+     */
+    @NotNull
+    public static Set<String> getCssClassNames(@NotNull StylesheetFile stylesheetFile) {
+        return CachedValuesManager.getCachedValue(stylesheetFile, () -> {
+            final Set<String> classNames = scanCssClassNames(stylesheetFile);
+            return CachedValueProvider.Result.create(classNames, stylesheetFile);
+        });
+    }
+
+    /**
+     * Gets the names that the lexed class names are exported as on the styles object according to the configured
+     * css-loader locals convention. The names are cached until the style sheet or the settings change.
+     *
+     * @param stylesheetFile the style sheet to scan
+     * @return the exported names, in order of declaration
+     */
+    @NotNull
+    public static Set<String> getExportedCssClassNames(@NotNull StylesheetFile stylesheetFile) {
+        return CachedValuesManager.getCachedValue(stylesheetFile, () -> {
+            final CssModulesSettings settings = CssModulesSettings.getInstance(stylesheetFile.getProject());
+            final Set<String> exportNames = new LinkedHashSet<>();
+            for (String className : getCssClassNames(stylesheetFile)) {
+                exportNames.addAll(settings.getLocalsConvention().getExportNames(className));
+            }
+            return CachedValueProvider.Result.create(exportNames, stylesheetFile, settings);
+        });
+    }
+
+    /**
+     * Gets the names of the '@value' declarations and imports in the specified style sheet by scanning its text.
+     * Declarations inside comments are skipped.
+     * The names are cached until the style sheet changes.
+     *
+     * @param stylesheetFile the style sheet to scan
+     * @return the value names, in order of declaration
+     * @see CssModulesValueDeclaration#parse(CharSequence, boolean)
+     */
+    @NotNull
+    public static Set<String> getCssValueNames(@NotNull StylesheetFile stylesheetFile) {
+        return getCssValueDeclarations(stylesheetFile).keySet();
+    }
+
+    /**
+     * Finds the '@value' declaration or import of a value in the specified style sheet by scanning its text.
+     * Imports are not followed to the style sheet that declares the value.
+     *
+     * @param stylesheetFile the style sheet to scan
+     * @param valueName      the declared name, i.e. the alias for imports using 'as'
+     * @return the element at the declared name, or <code>null</code> if the style sheet doesn't declare the value
+     */
+    @Nullable
+    public static PsiElement findCssValueDeclaration(@NotNull StylesheetFile stylesheetFile, @NotNull String valueName) {
+        final CssModulesValueDeclaration declaration = getCssValueDeclarations(stylesheetFile).get(valueName);
+        return declaration != null ? stylesheetFile.findElementAt(declaration.getOffset()) : null;
+    }
+
+    private static Map<String, CssModulesValueDeclaration> getCssValueDeclarations(@NotNull StylesheetFile stylesheetFile) {
+        return CachedValuesManager.getCachedValue(stylesheetFile, () -> {
+            final Map<String, CssModulesValueDeclaration> declarations = new LinkedHashMap<>();
+            final boolean lineComments = stylesheetFile.getLanguage() != CSSLanguage.INSTANCE;
+            for (CssModulesValueDeclaration declaration : CssModulesValueDeclaration.parse(stylesheetFile.getViewProvider().getContents(), lineComments)) {
+                declarations.putIfAbsent(declaration.getName(), declaration);
+            }
+            return CachedValueProvider.Result.create(declarations, stylesheetFile);
+        });
+    }
+
+    /**
+     * Gets whether the specified path has the file extension of a style sheet language, e.g. ".css", ".scss" or ".less"
+     */
+    public static boolean isStyleSheetPath(@NotNull String path) {
+        final FileType fileType = FileTypeManager.getInstance().getFileTypeByFileName(PathUtil.getFileName(path));
+        return fileType instanceof LanguageFileType && ((LanguageFileType) fileType).getLanguage().isKindOf(CSSLanguage.INSTANCE);
+    }
+
+    private static Set<String> scanCssClassNames(@NotNull StylesheetFile stylesheetFile) {
+        final ParserDefinition parserDefinition = LanguageParserDefinitions.INSTANCE.forLanguage(stylesheetFile.getLanguage());
+        if (parserDefinition == null) {
+            return Collections.emptySet();
+        }
+        final Set<String> classNames = new LinkedHashSet<>();
+        final Lexer lexer = parserDefinition.createLexer(stylesheetFile.getProject());
+        lexer.start(stylesheetFile.getViewProvider().getContents());
+        IElementType previousTokenType = null;
+        boolean pendingGlobal = false;
+        int globalDepth = 0;
+        for (IElementType tokenType; (tokenType = lexer.getTokenType()) != null; lexer.advance()) {
+            if (parserDefinition.getWhitespaceTokens().contains(tokenType) || parserDefinition.getCommentTokens().contains(tokenType)) {
+                continue;
+            }
+            final CharSequence tokenText = lexer.getTokenSequence();
+            if (previousTokenType == CssElementTypes.CSS_COLON && StringUtil.startsWith(tokenText, "global")) {
+                // ":global(" is either an identifier followed by a paren or a single function token
+                if (StringUtil.endsWithChar(tokenText, '(')) {
+                    globalDepth++;
+                } else {
+                    pendingGlobal = true;
+                }
+            } else if (StringUtil.endsWithChar(tokenText, '(')) {
+                // plain paren or function token such as ":not("
+                if (pendingGlobal || globalDepth > 0) {
+                    globalDepth++;
+                }
+                pendingGlobal = false;
+            } else if (tokenType == CssElementTypes.CSS_RPAREN) {
+                if (globalDepth > 0) {
+                    globalDepth--;
+                }
+            } else if (tokenType == CssElementTypes.CSS_IDENT && previousTokenType == CssElementTypes.CSS_PERIOD) {
+                if (globalDepth == 0) {
+                    classNames.add(tokenText.toString());
+                }
+            } else {
+                pendingGlobal = false;
+            }
+            previousTokenType = tokenType;
+        }
+        return classNames;
+    }
+
+}
@@ -8,21 +8,21 @@
 package com.intellij.react.css.modules.psi;
 
 import com.intellij.lang.javascript.psi.JSLiteralExpression;
-import com.intellij.openapi.util.Ref;
+import com.intellij.openapi.project.DumbAware;
 import com.intellij.openapi.util.TextRange;
 import com.intellij.psi.*;
-import com.intellij.psi.css.CssClass;
 import com.intellij.psi.css.StylesheetFile;
 import com.intellij.util.ProcessingContext;
 import org.apache.commons.lang.StringUtils;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 
 /**
  * Adds a PSI references from a indexed string literal on a styles object to its corresponding class name.
  * For example, the 'normal' in styles['normal'] will point to the '.normal {}' CSS class in a require'd stylesheet.
+ * The string literal is matched against the exported class names, so css-loader locals conventions such as camelCase apply.
+ * Names that aren't classes are matched against the '@value' declarations and imports of the style sheet.
  */
-public class CssModulesIndexedStylesVarPsiReferenceContributor extends PsiReferenceContributor {
+public class CssModulesIndexedStylesVarPsiReferenceContributor extends PsiReferenceContributor implements DumbAware {
 
     @Override
     public void registerReferenceProviders(@NotNull PsiReferenceRegistrar registrar) {
@@ -32,27 +32,16 @@ public class CssModulesIndexedStylesVarPsiReferenceContributor extends PsiRefere
             public PsiReference[] getReferencesByElement(@NotNull PsiElement element, @NotNull ProcessingContext context) {
                 final PsiElement cssClassNamesImportOrRequire = CssModulesUtil.getCssClassNamesImportOrRequireDeclaration((JSLiteralExpression) element);
                 if (cssClassNamesImportOrRequire != null) {
-                    final String literalClass = "." + StringUtils.stripStart(StringUtils.stripEnd(element.getText(), "\"'"), "\"'");
-                    final Ref<StylesheetFile> referencedStyleSheet = new Ref<>();
-                    final CssClass cssClass = CssModulesUtil.getCssClass(cssClassNamesImportOrRequire, literalClass, referencedStyleSheet);
-                    if (cssClass != null) {
-                        return new PsiReference[]{new PsiReferenceBase<PsiElement>(element) {
-                            @Nullable
-                            @Override
-                            public PsiElement resolve() {
-                                return cssClass;
-                            }
-
-                            @NotNull
-                            @Override
-                            public Object[] getVariants() {
-                                return new Object[0];
-                            }
-                        }};
-                    } else {
-                        if (referencedStyleSheet.get() != null) {
-                            final TextRange rangeInElement = TextRange.from(1, element.getTextLength() - 2); // minus string quotes
-                            return new PsiReference[]{new CssModulesUnknownClassPsiReference(element, rangeInElement, referencedStyleSheet.get())};
+                    final String literalClass = StringUtils.stripStart(StringUtils.stripEnd(element.getText(), "\"'"), "\"'");
+                    final StylesheetFile stylesheetFile = CssModulesUtil.resolveStyleSheetFile(cssClassNamesImportOrRequire);
+                    if (stylesheetFile != null) {
+                        final TextRange rangeInElement = TextRange.from(1, element.getTextLength() - 2); // minus string quotes
+                        if (CssModulesUtil.hasExportedCssClass(stylesheetFile, literalClass)) {
+                            return new PsiReference[]{new CssModulesClassPsiReference(element, rangeInElement, literalClass, stylesheetFile, true)};
+                        } else if (CssModulesUtil.hasCssValue(stylesheetFile, literalClass)) {
+                            return new PsiReference[]{new CssModulesValuePsiReference(element, rangeInElement, literalClass, stylesheetFile)};
+                        } else {
+                            return new PsiReference[]{new CssModulesUnknownClassPsiReference(element, rangeInElement, stylesheetFile)};
                         }
                     }
 
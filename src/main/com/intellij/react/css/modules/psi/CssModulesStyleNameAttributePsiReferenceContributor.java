@@ -8,22 +8,20 @@
 package com.intellij.react.css.modules.psi;
 
 import com.google.common.collect.Lists;
-import com.intellij.openapi.util.Ref;
+import com.intellij.openapi.project.DumbAware;
 import com.intellij.openapi.util.TextRange;
 import com.intellij.psi.*;
-import com.intellij.psi.css.CssClass;
 import com.intellij.psi.css.StylesheetFile;
 import com.intellij.psi.xml.XmlAttributeValue;
 import com.intellij.util.ProcessingContext;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 
 /**
  * Adds a PSI references from class names used a styleName React attribute to their corresponding imported CSS classes.
  */
-public class CssModulesStyleNameAttributePsiReferenceContributor extends PsiReferenceContributor {
+public class CssModulesStyleNameAttributePsiReferenceContributor extends PsiReferenceContributor implements DumbAware {
 
 
     @Override
@@ -43,23 +41,9 @@ public class CssModulesStyleNameAttributePsiReferenceContributor extends PsiRefe
                     final List<PsiReference> referenceList = Lists.newArrayListWithExpectedSize(1);
                     int offset = xmlAttributeValue.getValueTextRange().getStartOffset() - xmlAttributeValue.getTextRange().getStartOffset();
                     for (String cssClassName : cssClassNames) {
-                        final Ref<CssClass> cssClassRef = new Ref<>(null);
-                        cssClassRef.set(CssModulesUtil.getCssClass(styleSheetFile, "." + cssClassName));
                         final TextRange rangeInElement = TextRange.from(offset, cssClassName.length());
-                        if (cssClassRef.get() != null) {
-                            referenceList.add(new PsiReferenceBase<PsiElement>(element, rangeInElement) {
-                                @Nullable
-                                @Override
-                                public PsiElement resolve() {
-                                    return cssClassRef.get();
-                                }
-
-                                @NotNull
-                                @Override
-                                public Object[] getVariants() {
-                                    return new Object[0];
-                                }
-                            });
+                        if (CssModulesUtil.hasCssClass(styleSheetFile, cssClassName)) {
+                            referenceList.add(new CssModulesClassPsiReference(element, rangeInElement, cssClassName, styleSheetFile, false));
                         } else {
                             referenceList.add(new CssModulesUnknownClassPsiReference(element, rangeInElement, styleSheetFile));
                         }
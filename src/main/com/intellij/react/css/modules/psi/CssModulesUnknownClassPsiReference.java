@@ -10,20 +10,23 @@ package com.intellij.react.css.modules.psi;
 import com.intellij.openapi.util.TextRange;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiReferenceBase;
+import com.intellij.psi.SmartPointerManager;
+import com.intellij.psi.SmartPsiElementPointer;
 import com.intellij.psi.css.StylesheetFile;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 /**
  * Represents an invalid CSS class reference in a specific style sheet file.
+ * The style sheet is held by a smart pointer to avoid retaining its PSI.
  */
 public class CssModulesUnknownClassPsiReference extends PsiReferenceBase<PsiElement> {
 
-    private final StylesheetFile stylesheetFile;
+    private final SmartPsiElementPointer<StylesheetFile> stylesheetFilePointer;
 
-    public CssModulesUnknownClassPsiReference(@NotNull PsiElement element, TextRange rangeInElement, StylesheetFile stylesheetFile) {
+    public CssModulesUnknownClassPsiReference(@NotNull PsiElement element, TextRange rangeInElement, @NotNull StylesheetFile stylesheetFile) {
         super(element, rangeInElement);
-        this.stylesheetFile = stylesheetFile;
+        this.stylesheetFilePointer = SmartPointerManager.getInstance(element.getProject()).createSmartPsiElementPointer(stylesheetFile);
     }
 
     @Nullable
@@ -39,7 +42,8 @@ public class CssModulesUnknownClassPsiReference extends PsiReferenceBase<PsiElem
         return new Object[0];
     }
 
+    @Nullable
     public StylesheetFile getStylesheetFile() {
-        return stylesheetFile;
+        return stylesheetFilePointer.getElement();
     }
 }
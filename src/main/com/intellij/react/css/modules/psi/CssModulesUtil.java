@@ -15,10 +15,15 @@ import com.intellij.lang.javascript.psi.JSFile;
 import com.intellij.lang.javascript.psi.JSIndexedPropertyAccessExpression;
 import com.intellij.lang.javascript.psi.JSLiteralExpression;
 import com.intellij.lang.javascript.psi.JSVariable;
+import com.intellij.openapi.project.DumbService;
 import com.intellij.openapi.util.Ref;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
 import com.intellij.patterns.PlatformPatterns;
 import com.intellij.patterns.PsiElementPattern;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
 import com.intellij.psi.PsiRecursiveElementVisitor;
 import com.intellij.psi.PsiReference;
 import com.intellij.psi.css.CssClass;
@@ -26,13 +31,27 @@ import com.intellij.psi.css.CssFunction;
 import com.intellij.psi.css.StylesheetFile;
 import com.intellij.psi.filters.ElementFilter;
 import com.intellij.psi.filters.position.FilterPattern;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
 import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.psi.xml.XmlAttribute;
 import com.intellij.psi.xml.XmlAttributeValue;
+import com.intellij.react.css.modules.index.CssModulesValueIndex;
+import com.intellij.react.css.modules.settings.CssModulesLocalIdentName;
+import com.intellij.react.css.modules.settings.CssModulesLocalsConvention;
+import com.intellij.react.css.modules.settings.CssModulesSettings;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Utility methods for navigating PSI trees with regards to CSS Modules.
+ * While the IDE is in dumb mode the lookups fall back to {@link CssModulesDumbModeUtil}.
  */
 public class CssModulesUtil {
 
@@ -89,56 +108,184 @@ public class CssModulesUtil {
 
 
     /**
-     * Visits the containing file of the specified element to find a require to a style sheet file
+     * Gets the first style sheet imported or required by the containing file of the specified element
      *
      * @param cssReferencingElement starting point for finding an imported style sheet file
      * @return the PSI file for the first imported style sheet file
+     * @see #getImportedStyleSheets(PsiFile)
      */
     public static StylesheetFile getImportedStyleSheetFile(PsiElement cssReferencingElement) {
-        final Ref<StylesheetFile> file = new Ref<>();
-        cssReferencingElement.getContainingFile().accept(new PsiRecursiveElementVisitor() {
-            @Override
-            public void visitElement(PsiElement element) {
-                if (file.get() != null) {
-                    return;
+        if (DumbService.isDumb(cssReferencingElement.getProject())) {
+            return CssModulesDumbModeUtil.getImportedStyleSheetFile(cssReferencingElement);
+        }
+        final PsiManager psiManager = cssReferencingElement.getManager();
+        for (VirtualFile styleSheet : getImportedStyleSheets(cssReferencingElement.getContainingFile())) {
+            final PsiFile psiFile = psiManager.findFile(styleSheet);
+            if (psiFile instanceof StylesheetFile) {
+                return (StylesheetFile) psiFile;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the import table of a component, i.e. the style sheets it imports or requires in order of appearance.
+     * The table is cached until the component changes or files are added, moved or removed.
+     *
+     * @param componentFile the JavaScript or TypeScript file to get imported style sheets for
+     * @return the virtual files of the imported style sheets
+     */
+    @NotNull
+    public static List<VirtualFile> getImportedStyleSheets(@NotNull PsiFile componentFile) {
+        return CachedValuesManager.getCachedValue(componentFile, () -> {
+            final List<VirtualFile> styleSheets = new ArrayList<>();
+            componentFile.accept(new PsiRecursiveElementVisitor() {
+                @Override
+                public void visitElement(PsiElement element) {
+                    if (element instanceof JSLiteralExpression || element instanceof ES6FromClause) {
+                        final Ref<StylesheetFile> file = new Ref<>();
+                        if (resolveStyleSheetFile(element, file)) {
+                            final VirtualFile styleSheet = file.get().getVirtualFile();
+                            if (styleSheet != null && !styleSheets.contains(styleSheet)) {
+                                styleSheets.add(styleSheet);
+                            }
+                            return;
+                        }
+                    }
+                    super.visitElement(element);
                 }
-                if (element instanceof JSLiteralExpression) {
-                    if (resolveStyleSheetFile(element, file)) return;
+            });
+            return CachedValueProvider.Result.create(styleSheets, componentFile, VirtualFileManager.VFS_STRUCTURE_MODIFICATIONS);
+        });
+    }
+
+    /**
+     * Gets the CSS Modules classes declared in the specified style sheet, keyed by class name without the leading ".".
+     * The first declaration of a class name wins. The map is cached until the style sheet changes.
+     *
+     * @param stylesheetFile the PSI style sheet file to get classes for
+     * @return the class map, in order of declaration
+     */
+    @NotNull
+    public static Map<String, CssClass> getCssClasses(@NotNull StylesheetFile stylesheetFile) {
+        return CachedValuesManager.getCachedValue(stylesheetFile, () -> {
+            final Map<String, CssClass> cssClasses = new LinkedHashMap<>();
+            stylesheetFile.accept(new PsiRecursiveElementVisitor() {
+                @Override
+                public void visitElement(PsiElement element) {
+                    if (element instanceof CssClass) {
+                        final CssClass cssClass = (CssClass) element;
+                        if (cssClass.getName() != null && isCssModuleClass(cssClass)) {
+                            cssClasses.putIfAbsent(cssClass.getName(), cssClass);
+                        }
+                    }
+                    super.visitElement(element);
                 }
-                if(element instanceof ES6FromClause) {
-                    if (resolveStyleSheetFile(element, file)) return;
+            });
+            return CachedValueProvider.Result.create(cssClasses, stylesheetFile);
+        });
+    }
+
+    /**
+     * Gets the CSS Modules classes declared in the specified style sheet, keyed by the names they are exported as on the
+     * styles object according to the configured css-loader locals convention, e.g. "navItem" for ".nav-item" with camelCase.
+     * The table is cached next to the class map until the style sheet or the settings change.
+     *
+     * @param stylesheetFile the PSI style sheet file to get classes for
+     * @return the export table, in order of declaration
+     * @see CssModulesLocalsConvention
+     */
+    @NotNull
+    public static Map<String, CssClass> getCssClassesByExportName(@NotNull StylesheetFile stylesheetFile) {
+        return CachedValuesManager.getCachedValue(stylesheetFile, () -> {
+            final CssModulesSettings settings = CssModulesSettings.getInstance(stylesheetFile.getProject());
+            final CssModulesLocalsConvention localsConvention = settings.getLocalsConvention();
+            final Map<String, CssClass> cssClassesByExportName = new LinkedHashMap<>();
+            for (Map.Entry<String, CssClass> entry : getCssClasses(stylesheetFile).entrySet()) {
+                for (String exportName : localsConvention.getExportNames(entry.getKey())) {
+                    cssClassesByExportName.putIfAbsent(exportName, entry.getValue());
                 }
-                super.visitElement(element);
             }
+            return CachedValueProvider.Result.create(cssClassesByExportName, stylesheetFile, settings);
         });
-        return file.get();
     }
 
     /**
-     * Gets the CssClass PSI element whose name matches the specified cssClassName
+     * Gets the names that css-loader generates for the CSS Modules classes in the specified style sheet according to the
+     * configured localIdentName, keyed by class name. The names are cached until the style sheet, the settings, or the
+     * location of the style sheet change.
      *
-     * @param stylesheetFile the PSI style sheet file to visit
-     * @param cssClass       the class to find, including the leading ".", e.g. ".my-class-name"
-     * @return the matching class or <code>null</code> if no matches are found
+     * @param stylesheetFile the PSI style sheet file to get generated names for
+     * @return the generated names, e.g. "primary" -> "Button__primary___3xK9a"
+     * @see CssModulesLocalIdentName
      */
-    public static CssClass getCssClass(StylesheetFile stylesheetFile, String cssClass) {
-        final Ref<CssClass> cssClassRef = new Ref<>();
-        stylesheetFile.accept(new PsiRecursiveElementVisitor() {
-            @Override
-            public void visitElement(PsiElement element) {
-                if (cssClassRef.get() != null) {
-                    return;
-                }
-                if (element instanceof CssClass) {
-                    if (cssClass.equals(element.getText()) && isCssModuleClass((CssClass) element)) {
-                        cssClassRef.set((CssClass) element);
-                        return;
-                    }
+    @NotNull
+    public static Map<String, String> getGeneratedClassNames(@NotNull StylesheetFile stylesheetFile) {
+        return CachedValuesManager.getCachedValue(stylesheetFile, () -> {
+            final CssModulesSettings settings = CssModulesSettings.getInstance(stylesheetFile.getProject());
+            final Map<String, String> generatedClassNames = new LinkedHashMap<>();
+            final VirtualFile virtualFile = stylesheetFile.getOriginalFile().getVirtualFile();
+            if (virtualFile != null) {
+                final String relativePath = CssModulesLocalIdentName.getRelativePath(stylesheetFile.getProject(), virtualFile);
+                for (String className : getCssClasses(stylesheetFile).keySet()) {
+                    generatedClassNames.put(className, CssModulesLocalIdentName.getGeneratedName(settings.getLocalIdentName(), relativePath, className));
                 }
-                super.visitElement(element);
             }
+            // the relative path changes when the style sheet or one of its parent directories is moved
+            return CachedValueProvider.Result.create(generatedClassNames, stylesheetFile, settings, VirtualFileManager.VFS_STRUCTURE_MODIFICATIONS);
         });
-        return cssClassRef.get();
+    }
+
+    /**
+     * Gets whether the specified style sheet declares a CSS Modules class with the specified name.
+     * In dumb mode the class names are found by lexing the style sheet.
+     *
+     * @param stylesheetFile the style sheet to look in
+     * @param className      the class name without the leading "."
+     */
+    public static boolean hasCssClass(@NotNull StylesheetFile stylesheetFile, String className) {
+        if (DumbService.isDumb(stylesheetFile.getProject())) {
+            return CssModulesDumbModeUtil.getCssClassNames(stylesheetFile).contains(className);
+        }
+        return getCssClasses(stylesheetFile).containsKey(className);
+    }
+
+    /**
+     * Gets whether the specified style sheet exports a CSS Modules class with the specified name on the styles object.
+     * In dumb mode the class names are found by lexing the style sheet.
+     *
+     * @param stylesheetFile the style sheet to look in
+     * @param exportName     the name used on the styles object, e.g. "navItem" in styles['navItem']
+     * @see #getCssClassesByExportName(StylesheetFile)
+     */
+    public static boolean hasExportedCssClass(@NotNull StylesheetFile stylesheetFile, String exportName) {
+        if (DumbService.isDumb(stylesheetFile.getProject())) {
+            return CssModulesDumbModeUtil.getExportedCssClassNames(stylesheetFile).contains(exportName);
+        }
+        return getCssClassesByExportName(stylesheetFile).containsKey(exportName);
+    }
+
+    /**
+     * Gets the names of the CSS Modules values a style sheet declares or imports with '@value'.
+     * The names are found by scanning the style sheet text, which is cached on the style sheet like its classes.
+     * Values are resolved across style sheets through {@link CssModulesValueIndex}.
+     *
+     * @param stylesheetFile the style sheet to look in
+     * @return the value names, in order of declaration
+     */
+    @NotNull
+    public static Set<String> getCssValueNames(@NotNull StylesheetFile stylesheetFile) {
+        return CssModulesDumbModeUtil.getCssValueNames(stylesheetFile);
+    }
+
+    /**
+     * Gets whether the specified style sheet declares or imports a CSS Modules value with the specified name
+     *
+     * @param stylesheetFile the style sheet to look in
+     * @param valueName      the value name, e.g. "primary" for '@value primary: #f00;'
+     */
+    public static boolean hasCssValue(@NotNull StylesheetFile stylesheetFile, String valueName) {
+        return getCssValueNames(stylesheetFile).contains(valueName);
     }
 
     /**
@@ -164,6 +311,9 @@ public class CssModulesUtil {
      * @return the JS variable that is a potential require of a style sheet file, or <code>null</code> if the PSI structure doesn't match
      */
     public static PsiElement getCssClassNamesImportOrRequireDeclaration(JSLiteralExpression classNameLiteral) {
+        if (DumbService.isDumb(classNameLiteral.getProject())) {
+            return CssModulesDumbModeUtil.getCssClassNamesImportOrRequireDeclaration(classNameLiteral);
+        }
         final JSIndexedPropertyAccessExpression expression = PsiTreeUtil.getParentOfType(classNameLiteral, JSIndexedPropertyAccessExpression.class);
         if (expression != null) {
             // string literal is part of "var['string literal']", e.g. "styles['normal']"
@@ -190,6 +340,9 @@ public class CssModulesUtil {
      * @return the matching style sheet PSI file, or <code>null</code> if the file can't be resolved
      */
     public static StylesheetFile resolveStyleSheetFile(PsiElement cssFileNameLiteralParent) {
+        if (DumbService.isDumb(cssFileNameLiteralParent.getProject())) {
+            return CssModulesDumbModeUtil.resolveStyleSheetFile(cssFileNameLiteralParent);
+        }
         final Ref<StylesheetFile> stylesheetFileRef = new Ref<>();
         cssFileNameLiteralParent.accept(new PsiRecursiveElementVisitor() {
             @Override
@@ -209,25 +362,6 @@ public class CssModulesUtil {
         return stylesheetFileRef.get();
     }
 
-    /**
-     * Resolves a CssClass PSI element given a CSS filename and class name
-     *
-     * @param cssFileNameLiteralParent element which contains a require'd style sheet file
-     * @param cssClass                 the CSS class to get including the "."
-     * @param referencedStyleSheet     ref to set to the style sheet that any matching CSS class is declared in
-     * @return the matching CSS class, or <code>null</code> in case the class is unknown
-     */
-    public static CssClass getCssClass(PsiElement cssFileNameLiteralParent, String cssClass, Ref<StylesheetFile> referencedStyleSheet) {
-        StylesheetFile stylesheetFile = resolveStyleSheetFile(cssFileNameLiteralParent);
-        if (stylesheetFile != null) {
-            referencedStyleSheet.set(stylesheetFile);
-            return getCssClass(stylesheetFile, cssClass);
-        } else {
-            referencedStyleSheet.set(null);
-            return null;
-        }
-    }
-
     /**
      * Gets the style sheet, if any, that the specified element resolves to
      *
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2016-present, Jim Kynde Meyer
+ * All rights reserved.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.react.css.modules.psi;
+
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiReferenceBase;
+import com.intellij.psi.SmartPointerManager;
+import com.intellij.psi.SmartPsiElementPointer;
+import com.intellij.psi.css.StylesheetFile;
+import com.intellij.react.css.modules.index.CssModulesValueIndex;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Represents a reference to a CSS Modules '@value' that a style sheet declares or imports, e.g. 'primary' in styles['primary'].
+ * The value is resolved lazily through {@link CssModulesValueIndex}, which follows imports to the style sheet that declares it.
+ * In dumb mode the value resolves to its declaration or import in the imported style sheet.
+ */
+public class CssModulesValuePsiReference extends PsiReferenceBase<PsiElement> {
+
+    private final String valueName;
+    private final SmartPsiElementPointer<StylesheetFile> stylesheetFilePointer;
+
+    public CssModulesValuePsiReference(@NotNull PsiElement element, TextRange rangeInElement, @NotNull String valueName, @NotNull StylesheetFile stylesheetFile) {
+        super(element, rangeInElement);
+        this.valueName = valueName;
+        this.stylesheetFilePointer = SmartPointerManager.getInstance(element.getProject()).createSmartPsiElementPointer(stylesheetFile);
+    }
+
+    @Nullable
+    @Override
+    public PsiElement resolve() {
+        final StylesheetFile stylesheetFile = getStylesheetFile();
+        if (stylesheetFile == null) {
+            return null;
+        }
+        if (DumbService.isDumb(stylesheetFile.getProject())) {
+            // the index isn't available, so resolve to the declaration or import in the imported style sheet
+            return CssModulesDumbModeUtil.findCssValueDeclaration(stylesheetFile, valueName);
+        }
+        final VirtualFile virtualFile = stylesheetFile.getOriginalFile().getVirtualFile();
+        if (virtualFile != null) {
+            return CssModulesValueIndex.resolveValue(stylesheetFile.getProject(), virtualFile, valueName);
+        }
+        return null;
+    }
+
+    @NotNull
+    @Override
+    public Object[] getVariants() {
+        return new Object[0];
+    }
+
+    @NotNull
+    public String getValueName() {
+        return valueName;
+    }
+
+    @Nullable
+    public StylesheetFile getStylesheetFile() {
+        return stylesheetFilePointer.getElement();
+    }
+}
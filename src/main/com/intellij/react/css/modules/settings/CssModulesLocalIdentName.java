@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2016-present, Jim Kynde Meyer
+ * All rights reserved.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.react.css.modules.settings;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.util.containers.ContainerUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Computes generated class names from a css-loader 'localIdentName' template, e.g. "[name]__[local]___[hash:base64:5]".
+ * Follows css-loader and loader-utils: the hash is computed over "relative/path/to/File.css+localName" using the
+ * project base directory as the webpack context, with md4 as the default hash type.
+ */
+public class CssModulesLocalIdentName {
+
+    public static final String DEFAULT_TEMPLATE = "[name]__[local]___[hash:base64:5]";
+
+    private static final Pattern HASH_PATTERN = Pattern.compile("\\[(?:([^:\\]]+):)?(?:hash|contenthash)(?::([a-z]+\\d*))?(?::(\\d+))?]", Pattern.CASE_INSENSITIVE);
+
+    /**
+     * The loader-utils 'baseEncodeTables', keyed by digest type, e.g. "base58". Other bases are unsupported.
+     */
+    private static final Map<String, String> BASE_ENCODE_TABLES = ContainerUtil.<String, String>immutableMapBuilder()
+            .put("base26", "abcdefghijklmnopqrstuvwxyz")
+            .put("base32", "123456789abcdefghjkmnpqrstuvwxyz") // no 0lio
+            .put("base36", "0123456789abcdefghijklmnopqrstuvwxyz")
+            .put("base49", "abcdefghijkmnopqrstuvwxyzABCDEFGHJKLMNPQRSTUVWXYZ") // no lIO
+            .put("base52", "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ")
+            .put("base58", "123456789abcdefghijkmnopqrstuvwxyzABCDEFGHJKLMNPQRSTUVWXYZ") // no 0lIO
+            .put("base62", "0123456789abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ")
+            .put("base64", "0123456789abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ-_")
+            .build();
+
+    /**
+     * Gets the generated name for a class
+     *
+     * @param template     the localIdentName template
+     * @param relativePath the path of the style sheet relative to the webpack context, e.g. "src/Button.css"
+     * @param localName    the class name without the leading "."
+     * @return the class name that css-loader generates
+     */
+    @NotNull
+    public static String getGeneratedName(@NotNull String template, @NotNull String relativePath, @NotNull String localName) {
+        final String fileName = StringUtil.substringAfterLast("/" + relativePath, "/");
+        final String directory = StringUtil.notNullize(StringUtil.substringBeforeLast(relativePath, "/"));
+        // placeholders match case-insensitively, like the /gi replacements in css-loader and loader-utils
+        String name = template.replaceAll("(?i)\\[local]", Matcher.quoteReplacement(localName));
+        name = name.replaceAll("(?i)\\[name]", Matcher.quoteReplacement(FileUtil.getNameWithoutExtension(fileName)));
+        name = name.replaceAll("(?i)\\[ext]", Matcher.quoteReplacement(StringUtil.notNullize(FileUtil.getExtension(fileName))));
+        name = name.replaceAll("(?i)\\[path]", Matcher.quoteReplacement(directory.isEmpty() ? "" : directory + "/"));
+        name = name.replaceAll("(?i)\\[folder]", Matcher.quoteReplacement(StringUtil.notNullize(StringUtil.substringAfterLast("/" + directory, "/"))));
+        final Matcher hashMatcher = HASH_PATTERN.matcher(name);
+        final StringBuffer interpolated = new StringBuffer();
+        while (hashMatcher.find()) {
+            final String hash = getHashDigest(relativePath + "+" + localName, hashMatcher.group(1), hashMatcher.group(2), hashMatcher.group(3));
+            hashMatcher.appendReplacement(interpolated, Matcher.quoteReplacement(hash));
+        }
+        hashMatcher.appendTail(interpolated);
+        return interpolated.toString().replaceAll("[^a-zA-Z0-9\\-_\\u00A0-\\uFFFF]", "-").replaceAll("^((-?[0-9])|--)", "_$1");
+    }
+
+    /**
+     * Gets the path of a style sheet relative to the project base directory, which is used as the webpack context
+     */
+    @NotNull
+    public static String getRelativePath(@NotNull Project project, @NotNull VirtualFile stylesheetFile) {
+        final VirtualFile baseDir = project.getBaseDir();
+        final String relativePath = baseDir != null ? VfsUtilCore.getRelativePath(stylesheetFile, baseDir) : null;
+        return relativePath != null ? relativePath : stylesheetFile.getName();
+    }
+
+    private static String getHashDigest(String content, String hashType, String digestType, String maxLength) {
+        final byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        final byte[] digest;
+        if (hashType == null || "md4".equalsIgnoreCase(hashType)) {
+            // loader-utils defaults to md4, which the JDK doesn't provide
+            digest = md4(bytes);
+        } else {
+            try {
+                digest = MessageDigest.getInstance(getAlgorithm(hashType)).digest(bytes);
+            } catch (NoSuchAlgorithmException e) {
+                return "";
+            }
+        }
+        String hash;
+        if (digestType == null || "hex".equalsIgnoreCase(digestType)) {
+            hash = StringUtil.toHexString(digest);
+        } else {
+            final String encodeTable = BASE_ENCODE_TABLES.get(digestType.toLowerCase());
+            if (encodeTable == null) {
+                // loader-utils fails the build for an unknown encoding base
+                return "";
+            }
+            hash = encodeBufferToBase(digest, encodeTable);
+        }
+        if (maxLength != null) {
+            hash = hash.substring(0, Math.min(hash.length(), Integer.parseInt(maxLength)));
+        }
+        return hash;
+    }
+
+    /**
+     * Maps a node crypto hash name to a JDK algorithm name, e.g. "sha256" -> "SHA-256"
+     */
+    private static String getAlgorithm(String hashType) {
+        final String algorithm = hashType.toUpperCase();
+        if (algorithm.startsWith("SHA") && algorithm.length() > 3 && Character.isDigit(algorithm.charAt(3))) {
+            return "SHA-" + algorithm.substring(3);
+        }
+        return algorithm;
+    }
+
+    /**
+     * Computes an MD4 digest as specified in RFC 1320
+     */
+    static byte[] md4(byte[] input) {
+        final int paddedLength = ((input.length + 8) / 64 + 1) * 64;
+        final byte[] padded = Arrays.copyOf(input, paddedLength);
+        padded[input.length] = (byte) 0x80;
+        final long bitLength = (long) input.length * 8;
+        for (int i = 0; i < 8; i++) {
+            padded[paddedLength - 8 + i] = (byte) (bitLength >>> (8 * i));
+        }
+        int a = 0x67452301;
+        int b = 0xefcdab89;
+        int c = 0x98badcfe;
+        int d = 0x10325476;
+        final int[] x = new int[16];
+        for (int offset = 0; offset < paddedLength; offset += 64) {
+            for (int i = 0; i < 16; i++) {
+                final int j = offset + i * 4;
+                x[i] = (padded[j] & 0xff) | (padded[j + 1] & 0xff) << 8 | (padded[j + 2] & 0xff) << 16 | (padded[j + 3] & 0xff) << 24;
+            }
+            final int aa = a;
+            final int bb = b;
+            final int cc = c;
+            final int dd = d;
+            for (int i = 0; i < 16; i += 4) {
+                a = Integer.rotateLeft(a + ((b & c) | (~b & d)) + x[i], 3);
+                d = Integer.rotateLeft(d + ((a & b) | (~a & c)) + x[i + 1], 7);
+                c = Integer.rotateLeft(c + ((d & a) | (~d & b)) + x[i + 2], 11);
+                b = Integer.rotateLeft(b + ((c & d) | (~c & a)) + x[i + 3], 19);
+            }
+            for (int i = 0; i < 4; i++) {
+                a = Integer.rotateLeft(a + ((b & c) | (b & d) | (c & d)) + x[i] + 0x5a827999, 3);
+                d = Integer.rotateLeft(d + ((a & b) | (a & c) | (b & c)) + x[i + 4] + 0x5a827999, 5);
+                c = Integer.rotateLeft(c + ((d & a) | (d & b) | (a & b)) + x[i + 8] + 0x5a827999, 9);
+                b = Integer.rotateLeft(b + ((c & d) | (c & a) | (d & a)) + x[i + 12] + 0x5a827999, 13);
+            }
+            for (int i : new int[]{0, 2, 1, 3}) {
+                a = Integer.rotateLeft(a + (b ^ c ^ d) + x[i] + 0x6ed9eba1, 3);
+                d = Integer.rotateLeft(d + (a ^ b ^ c) + x[i + 8] + 0x6ed9eba1, 9);
+                c = Integer.rotateLeft(c + (d ^ a ^ b) + x[i + 4] + 0x6ed9eba1, 11);
+                b = Integer.rotateLeft(b + (c ^ d ^ a) + x[i + 12] + 0x6ed9eba1, 15);
+            }
+            a += aa;
+            b += bb;
+            c += cc;
+            d += dd;
+        }
+        final byte[] digest = new byte[16];
+        final int[] state = {a, b, c, d};
+        for (int i = 0; i < 16; i++) {
+            digest[i] = (byte) (state[i / 4] >>> (8 * (i % 4)));
+        }
+        return digest;
+    }
+
+    /**
+     * Encodes the buffer as a little endian number using the characters of the encode table as digits, which is how loader-utils encodes digests
+     */
+    private static String encodeBufferToBase(byte[] buffer, String encodeTable) {
+        final byte[] bigEndian = new byte[buffer.length];
+        for (int i = 0; i < buffer.length; i++) {
+            bigEndian[i] = buffer[buffer.length - 1 - i];
+        }
+        BigInteger num = new BigInteger(1, bigEndian);
+        final BigInteger base = BigInteger.valueOf(encodeTable.length());
+        final StringBuilder output = new StringBuilder();
+        while (num.signum() > 0) {
+            final BigInteger[] divideAndRemainder = num.divideAndRemainder(base);
+            output.insert(0, encodeTable.charAt(divideAndRemainder[1].intValue()));
+            num = divideAndRemainder[0];
+        }
+        return output.toString();
+    }
+
+}
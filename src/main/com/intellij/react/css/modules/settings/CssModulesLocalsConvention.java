@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2016-present, Jim Kynde Meyer
+ * All rights reserved.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.react.css.modules.settings;
+
+import com.google.common.collect.Lists;
+import com.intellij.openapi.util.text.StringUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The css-loader 'localsConvention' (formerly 'camelCase') option, which controls the names that classes are exported as
+ * on the styles object, e.g. '.nav-item' as 'styles.navItem'.
+ */
+public enum CssModulesLocalsConvention {
+
+    AS_IS("asIs - class names exported as-is"),
+    CAMEL_CASE("camelCase - class names camelized, original names kept"),
+    CAMEL_CASE_ONLY("camelCaseOnly - class names camelized, original names removed"),
+    DASHES("dashes - only dashes camelized, original names kept"),
+    DASHES_ONLY("dashesOnly - only dashes camelized, original names removed");
+
+    private final String displayName;
+
+    CssModulesLocalsConvention(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * Gets the names that the specified class is exported as, in the order css-loader adds them
+     *
+     * @param className the class name without the leading "."
+     * @return the exported names, where the last name is the converted one
+     */
+    @NotNull
+    public List<String> getExportNames(@NotNull String className) {
+        switch (this) {
+            case CAMEL_CASE:
+                return distinct(className, camelCase(className));
+            case CAMEL_CASE_ONLY:
+                return Collections.singletonList(camelCase(className));
+            case DASHES:
+                return distinct(className, dashesCamelCase(className));
+            case DASHES_ONLY:
+                return Collections.singletonList(dashesCamelCase(className));
+            default:
+                return Collections.singletonList(className);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+
+    private static List<String> distinct(String className, String convertedName) {
+        return className.equals(convertedName) ? Collections.singletonList(className) : Lists.newArrayList(className, convertedName);
+    }
+
+    /**
+     * Converts a class name in the manner of lodash camelCase, which is what css-loader uses, e.g. "nav-item__Title" -> "navItemTitle"
+     */
+    static String camelCase(String className) {
+        final StringBuilder camelCase = new StringBuilder();
+        for (String word : words(className)) {
+            final String lowerCase = word.toLowerCase();
+            camelCase.append(camelCase.length() == 0 ? lowerCase : StringUtil.capitalize(lowerCase));
+        }
+        return camelCase.toString();
+    }
+
+    /**
+     * Splits a class name into words the way lodash does: at separators, lower to upper case changes, letter/digit
+     * boundaries, and before the last letter of an acronym that starts a new word, e.g. "XMLHttp2req" -> "XML", "Http", "2", "req".
+     * Ordinals such as "1st" are kept as a single word.
+     */
+    static List<String> words(String className) {
+        final List<String> words = Lists.newArrayList();
+        final int length = className.length();
+        int i = 0;
+        while (i < length) {
+            final char c = className.charAt(i);
+            int end = i + 1;
+            if (Character.isDigit(c)) {
+                while (end < length && Character.isDigit(className.charAt(end))) {
+                    end++;
+                }
+                end += ordinalSuffixLength(className, end);
+            } else if (Character.isUpperCase(c)) {
+                while (end < length && Character.isUpperCase(className.charAt(end))) {
+                    end++;
+                }
+                if (end < length && isLowerCaseLetter(className.charAt(end))) {
+                    if (end - i > 1) {
+                        // acronym followed by a capitalized word, e.g. "XMLHttp"
+                        end--;
+                    } else {
+                        while (end < length && isLowerCaseLetter(className.charAt(end))) {
+                            end++;
+                        }
+                    }
+                }
+            } else if (isLowerCaseLetter(c)) {
+                while (end < length && isLowerCaseLetter(className.charAt(end))) {
+                    end++;
+                }
+            } else {
+                // separator
+                i++;
+                continue;
+            }
+            words.add(className.substring(i, end));
+            i = end;
+        }
+        return words;
+    }
+
+    /**
+     * Gets the length of an ordinal suffix such as the "st" in "1st" following the digits that end at the specified offset
+     */
+    private static int ordinalSuffixLength(String className, int digitsEnd) {
+        if (digitsEnd + 2 > className.length()) {
+            return 0;
+        }
+        final String expected;
+        switch (className.charAt(digitsEnd - 1)) {
+            case '1':
+                expected = "st";
+                break;
+            case '2':
+                expected = "nd";
+                break;
+            case '3':
+                expected = "rd";
+                break;
+            default:
+                expected = "th";
+        }
+        final String suffix = className.substring(digitsEnd, digitsEnd + 2);
+        final boolean upperCase = suffix.equals(expected.toUpperCase());
+        if (!upperCase && !suffix.equals(expected)) {
+            return 0;
+        }
+        if (digitsEnd + 2 < className.length()) {
+            // the suffix must end the word, e.g. "1stItem" but not "1stitem"
+            final char next = className.charAt(digitsEnd + 2);
+            final boolean nextStartsWord = next == '_' || !Character.isLetterOrDigit(next) || (upperCase ? isLowerCaseLetter(next) : Character.isUpperCase(next));
+            if (!nextStartsWord) {
+                return 0;
+            }
+        }
+        return 2;
+    }
+
+    private static boolean isLowerCaseLetter(char c) {
+        return Character.isLetter(c) && !Character.isUpperCase(c);
+    }
+
+    /**
+     * Camelizes only the dashes in a class name, e.g. "nav-item__Title" -> "navItem__Title"
+     */
+    static String dashesCamelCase(String className) {
+        final StringBuilder dashesCamelCase = new StringBuilder(className.length());
+        boolean upperCaseNext = false;
+        for (int i = 0; i < className.length(); i++) {
+            final char c = className.charAt(i);
+            if (c == '-' && i + 1 < className.length()) {
+                upperCaseNext = true;
+            } else {
+                dashesCamelCase.append(upperCaseNext ? Character.toUpperCase(c) : c);
+                upperCaseNext = false;
+            }
+        }
+        return dashesCamelCase.toString();
+    }
+
+}
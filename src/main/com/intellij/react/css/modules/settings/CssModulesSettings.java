@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2016-present, Jim Kynde Meyer
+ * All rights reserved.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.react.css.modules.settings;
+
+import com.intellij.openapi.components.PersistentStateComponent;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.components.State;
+import com.intellij.openapi.components.Storage;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.ModificationTracker;
+import com.intellij.openapi.util.text.StringUtil;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Project settings that mirror the css-loader options which affect how classes are exported.
+ * Cached values that depend on the settings use this service as a modification tracker.
+ */
+@State(name = "CssModulesSettings", storages = @Storage("cssModules.xml"))
+public class CssModulesSettings implements PersistentStateComponent<CssModulesSettings.State>, ModificationTracker {
+
+    public static class State {
+        public CssModulesLocalsConvention localsConvention = CssModulesLocalsConvention.AS_IS;
+        public String localIdentName = CssModulesLocalIdentName.DEFAULT_TEMPLATE;
+    }
+
+    private State state = new State();
+    private volatile long modificationCount;
+
+    public static CssModulesSettings getInstance(@NotNull Project project) {
+        return ServiceManager.getService(project, CssModulesSettings.class);
+    }
+
+    @NotNull
+    @Override
+    public State getState() {
+        return state;
+    }
+
+    @Override
+    public void loadState(State state) {
+        this.state = state;
+        modificationCount++;
+    }
+
+    @NotNull
+    public CssModulesLocalsConvention getLocalsConvention() {
+        return state.localsConvention != null ? state.localsConvention : CssModulesLocalsConvention.AS_IS;
+    }
+
+    public void setLocalsConvention(@NotNull CssModulesLocalsConvention localsConvention) {
+        state.localsConvention = localsConvention;
+        modificationCount++;
+    }
+
+    @NotNull
+    public String getLocalIdentName() {
+        return StringUtil.isNotEmpty(state.localIdentName) ? state.localIdentName : CssModulesLocalIdentName.DEFAULT_TEMPLATE;
+    }
+
+    public void setLocalIdentName(@NotNull String localIdentName) {
+        state.localIdentName = localIdentName;
+        modificationCount++;
+    }
+
+    @Override
+    public long getModificationCount() {
+        return modificationCount;
+    }
+}
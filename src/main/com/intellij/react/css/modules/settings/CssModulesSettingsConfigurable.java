@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2016-present, Jim Kynde Meyer
+ * All rights reserved.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.react.css.modules.settings;
+
+import com.intellij.codeInsight.daemon.DaemonCodeAnalyzer;
+import com.intellij.openapi.options.Configurable;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.ComboBox;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.util.ui.FormBuilder;
+import org.jetbrains.annotations.Nls;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+
+/**
+ * Settings page for the CSS Modules options under "Languages &amp; Frameworks".
+ */
+public class CssModulesSettingsConfigurable implements Configurable {
+
+    private final Project project;
+
+    private ComboBox<CssModulesLocalsConvention> localsConvention;
+    private JTextField localIdentName;
+
+    public CssModulesSettingsConfigurable(Project project) {
+        this.project = project;
+    }
+
+    @Nls
+    @Override
+    public String getDisplayName() {
+        return "CSS Modules";
+    }
+
+    @Nullable
+    @Override
+    public String getHelpTopic() {
+        return null;
+    }
+
+    @Nullable
+    @Override
+    public JComponent createComponent() {
+        localsConvention = new ComboBox<>(CssModulesLocalsConvention.values());
+        localIdentName = new JTextField();
+        return FormBuilder.createFormBuilder()
+                .addLabeledComponent("css-loader localsConvention:", localsConvention)
+                .addLabeledComponent("css-loader localIdentName:", localIdentName)
+                .addComponentFillVertically(new JPanel(), 0)
+                .getPanel();
+    }
+
+    @Override
+    public boolean isModified() {
+        return getSettings().getLocalsConvention() != localsConvention.getSelectedItem() || !getSettings().getLocalIdentName().equals(getLocalIdentName());
+    }
+
+    @Override
+    public void apply() {
+        getSettings().setLocalsConvention((CssModulesLocalsConvention) localsConvention.getSelectedItem());
+        if (!getSettings().getLocalIdentName().equals(getLocalIdentName())) {
+            getSettings().setLocalIdentName(getLocalIdentName());
+        }
+        DaemonCodeAnalyzer.getInstance(project).restart();
+    }
+
+    @Override
+    public void reset() {
+        localsConvention.setSelectedItem(getSettings().getLocalsConvention());
+        localIdentName.setText(getSettings().getLocalIdentName());
+    }
+
+    @Override
+    public void disposeUIResources() {
+        localsConvention = null;
+        localIdentName = null;
+    }
+
+    private String getLocalIdentName() {
+        return StringUtil.defaultIfEmpty(localIdentName.getText().trim(), CssModulesLocalIdentName.DEFAULT_TEMPLATE);
+    }
+
+    private CssModulesSettings getSettings() {
+        return CssModulesSettings.getInstance(project);
+    }
+}
@@ -8,14 +8,42 @@
 package com.intellij.react.css.modules;
 
 import com.google.common.collect.Lists;
+import com.intellij.codeHighlighting.Pass;
 import com.intellij.codeInsight.completion.CompletionType;
+import com.intellij.codeInsight.daemon.GutterMark;
+import com.intellij.codeInsight.daemon.impl.DaemonCodeAnalyzerEx;
+import com.intellij.codeInsight.daemon.impl.FileStatusMap;
+import com.intellij.codeInsight.daemon.impl.HighlightInfo;
+import com.intellij.lang.annotation.HighlightSeverity;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.command.undo.UndoManager;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.fileEditor.impl.text.TextEditorProvider;
+import com.intellij.openapi.project.DumbServiceImpl;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiReference;
+import com.intellij.psi.css.CssClass;
+import com.intellij.psi.css.StylesheetFile;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.react.css.modules.ide.annotator.CssModulesClassAnnotator;
+import com.intellij.react.css.modules.index.CssModulesClassNameIndex;
+import com.intellij.react.css.modules.psi.CssModulesUtil;
+import com.intellij.react.css.modules.settings.CssModulesLocalIdentName;
+import com.intellij.react.css.modules.settings.CssModulesLocalsConvention;
+import com.intellij.react.css.modules.settings.CssModulesSettings;
 import com.intellij.testFramework.LightProjectDescriptor;
+import com.intellij.testFramework.PlatformTestUtil;
 import com.intellij.testFramework.fixtures.LightCodeInsightFixtureTestCase;
 import com.intellij.usageView.UsageInfo;
 import org.jetbrains.annotations.NotNull;
 import org.junit.Test;
 
 import java.util.List;
+import java.util.Map;
 
 
 public class CssModulesCodeInsightTest extends LightCodeInsightFixtureTestCase {
@@ -108,6 +136,49 @@ public class CssModulesCodeInsightTest extends LightCodeInsightFixtureTestCase {
         doTestCompletion("CompletionComposesProperty.css", Lists.newArrayList("composes", "mask-composite", "-webkit-background-composite", "-webkit-mask-composite"));
     }
 
+    @Test
+    public void testCompletionComponentDumbMode() {
+        DumbServiceImpl.getInstance(getProject()).setDumb(true);
+        try {
+            doTestCompletion("ComponentStringLiteral.jsx", Lists.newArrayList("error", "normal", "north"));
+        } finally {
+            DumbServiceImpl.getInstance(getProject()).setDumb(false);
+        }
+    }
+
+    @Test
+    public void testCompletionComponentLocalsConvention() {
+        myFixture.copyFileToProject("LocalsConvention.css");
+        setLocalsConvention(CssModulesLocalsConvention.CAMEL_CASE_ONLY);
+        try {
+            doTestCompletion("ComponentLocalsConvention.jsx", Lists.newArrayList("navItem", "navTitle"));
+        } finally {
+            setLocalsConvention(CssModulesLocalsConvention.AS_IS);
+        }
+    }
+
+    @Test
+    public void testCompletionComponentValues() {
+        copyValueStyleSheets();
+        myFixture.configureByFiles("ComponentValuesCompletion.jsx");
+        myFixture.complete(CompletionType.BASIC, 1);
+        final List<String> completions = myFixture.getLookupElementStrings();
+        assertNotNull(completions);
+        assertTrue("Wrong completions: " + completions, completions.containsAll(Lists.newArrayList("button", "brand", "small")));
+    }
+
+    @Test
+    public void testLocalsConventionCamelCase() {
+        // expected names are the output of lodash camelCase, which css-loader uses
+        assertEquals(Lists.newArrayList("navItemTitle"), CssModulesLocalsConvention.CAMEL_CASE_ONLY.getExportNames("nav-item__Title"));
+        assertEquals(Lists.newArrayList("nav2Item"), CssModulesLocalsConvention.CAMEL_CASE_ONLY.getExportNames("nav2item"));
+        assertEquals(Lists.newArrayList("xmlHttp"), CssModulesLocalsConvention.CAMEL_CASE_ONLY.getExportNames("XMLHttp"));
+        assertEquals(Lists.newArrayList("xmlHttpRequest"), CssModulesLocalsConvention.CAMEL_CASE_ONLY.getExportNames("XMLHttpRequest"));
+        assertEquals(Lists.newArrayList("2Col"), CssModulesLocalsConvention.CAMEL_CASE_ONLY.getExportNames("2col"));
+        assertEquals(Lists.newArrayList("1stItem"), CssModulesLocalsConvention.CAMEL_CASE_ONLY.getExportNames("1st-item"));
+        assertEquals(Lists.newArrayList("nav2item", "nav2Item"), CssModulesLocalsConvention.CAMEL_CASE.getExportNames("nav2item"));
+    }
+
     private void doTestCompletion(String sourceFile, List<String> expectedCompletions) {
         myFixture.configureByFiles(sourceFile);
         myFixture.complete(CompletionType.BASIC, 1);
@@ -130,6 +201,80 @@ public class CssModulesCodeInsightTest extends LightCodeInsightFixtureTestCase {
         myFixture.checkHighlighting(false, false, false);
     }
 
+    @Test
+    public void testComponentDumbModeAnnotations() {
+        myFixture.copyFileToProject("DumbMode.css");
+        DumbServiceImpl.getInstance(getProject()).setDumb(true);
+        try {
+            myFixture.configureByFiles("ComponentDumbModeAnnotations.jsx");
+            myFixture.checkHighlighting(false, false, false);
+        } finally {
+            DumbServiceImpl.getInstance(getProject()).setDumb(false);
+        }
+    }
+
+    @Test
+    public void testComponentLocalsConventionAnnotations() {
+        myFixture.copyFileToProject("LocalsConvention.css");
+        setLocalsConvention(CssModulesLocalsConvention.CAMEL_CASE);
+        try {
+            myFixture.configureByFiles("ComponentLocalsConventionAnnotations.jsx");
+            myFixture.checkHighlighting(false, false, false);
+        } finally {
+            setLocalsConvention(CssModulesLocalsConvention.AS_IS);
+        }
+    }
+
+    @Test
+    public void testComponentValuesAnnotations() {
+        copyValueStyleSheets();
+        myFixture.configureByFiles("ComponentValues.jsx");
+        myFixture.checkHighlighting(false, false, false);
+    }
+
+    @Test
+    public void testComponentAnnotationsAfterStyleSheetChange() {
+        myFixture.copyFileToProject("LocalsConvention.css");
+        final PsiFile unrelatedComponent = myFixture.configureByFiles("ComponentUnrelatedStyleSheet.jsx")[0];
+        assertEquals(1, getUnknownClassNameCount());
+        final PsiFile component = myFixture.configureByFiles("ComponentStyleSheetChange.jsx")[0];
+        assertEquals(2, getUnknownClassNameCount());
+        final Map<TextRange, List<TextRange>> unrelatedUnknownClassRanges = CssModulesClassAnnotator.getUnknownClassRanges(unrelatedComponent);
+        final PsiDocumentManager psiDocumentManager = PsiDocumentManager.getInstance(getProject());
+        final FileStatusMap fileStatusMap = DaemonCodeAnalyzerEx.getInstanceEx(getProject()).getFileStatusMap();
+        final Document componentDocument = psiDocumentManager.getDocument(component);
+        final Document unrelatedDocument = psiDocumentManager.getDocument(unrelatedComponent);
+        assertNotNull(componentDocument);
+        assertNotNull(unrelatedDocument);
+        assertNull(fileStatusMap.getFileDirtyScope(unrelatedDocument, Pass.UPDATE_ALL));
+
+        final PsiFile cssFile = PsiManager.getInstance(getProject()).findFile(myFixture.findFileInTempDir("Component.css"));
+        assertNotNull(cssFile);
+        final Document document = psiDocumentManager.getDocument(cssFile);
+        assertNotNull(document);
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+            document.insertString(document.getTextLength(), "\n.invalid {}");
+            psiDocumentManager.commitDocument(document);
+        });
+        PlatformTestUtil.dispatchAllInvocationEventsInIdeEventQueue();
+
+        // only the component that imports the changed style sheet is re-highlighted
+        assertNotNull(fileStatusMap.getFileDirtyScope(componentDocument, Pass.UPDATE_ALL));
+        assertNull(fileStatusMap.getFileDirtyScope(unrelatedDocument, Pass.UPDATE_ALL));
+        assertSame(unrelatedUnknownClassRanges, CssModulesClassAnnotator.getUnknownClassRanges(unrelatedComponent));
+        assertEquals(0, getUnknownClassNameCount());
+    }
+
+    private int getUnknownClassNameCount() {
+        int count = 0;
+        for (HighlightInfo highlightInfo : myFixture.doHighlighting(HighlightSeverity.ERROR)) {
+            if (highlightInfo.getDescription() != null && highlightInfo.getDescription().startsWith("Unknown class name")) {
+                count++;
+            }
+        }
+        return count;
+    }
+
     @Test
     public void testComponentTypeScriptAnnotations() {
         myFixture.configureByFiles("ComponentTypeScriptAnnotations.tsx");
@@ -145,4 +290,173 @@ public class CssModulesCodeInsightTest extends LightCodeInsightFixtureTestCase {
         assertEquals(3, usageInfos.size()); // 2 from this plugin, one is self reference
     }
 
+    @Test
+    public void testComponentLocalsConventionFindUsages() {
+        myFixture.copyFileToProject("ComponentLocalsConventionFindUsages.jsx");
+        setLocalsConvention(CssModulesLocalsConvention.CAMEL_CASE);
+        try {
+            // styles['navItem'] and styles['nav-item']
+            assertEquals(2, myFixture.testFindUsages("LocalsConventionFindUsages.css").size());
+            setLocalsConvention(CssModulesLocalsConvention.CAMEL_CASE_ONLY);
+            // styles['navItem'] only, 'nav-item' is not exported
+            assertEquals(1, myFixture.testFindUsages("LocalsConventionFindUsages.css").size());
+        } finally {
+            setLocalsConvention(CssModulesLocalsConvention.AS_IS);
+        }
+    }
+
+    @Test
+    public void testComponentLocalsConventionRename() {
+        doTestLocalsConventionRename(CssModulesLocalsConvention.CAMEL_CASE, "styles['menuItem']", "styles['menu-item']");
+    }
+
+    @Test
+    public void testComponentLocalsConventionRenameCamelCaseOnly() {
+        doTestLocalsConventionRename(CssModulesLocalsConvention.CAMEL_CASE_ONLY, "styles['menuItem']", "styles['nav-item']");
+    }
+
+    private void doTestLocalsConventionRename(CssModulesLocalsConvention localsConvention, String... expectedUsages) {
+        final PsiFile componentFile = PsiManager.getInstance(getProject()).findFile(myFixture.copyFileToProject("ComponentLocalsConventionFindUsages.jsx"));
+        assertNotNull(componentFile);
+        setLocalsConvention(localsConvention);
+        try {
+            myFixture.configureByFiles("LocalsConventionFindUsages.css");
+            myFixture.renameElementAtCaret("menu-item");
+            final String componentText = componentFile.getText();
+            for (String expectedUsage : expectedUsages) {
+                assertTrue("Missing " + expectedUsage + " in " + componentText, componentText.contains(expectedUsage));
+            }
+            assertFalse(componentText.contains("styles['navItem']"));
+            assertTrue(componentText.contains("styles['navTitle']"));
+        } finally {
+            setLocalsConvention(CssModulesLocalsConvention.AS_IS);
+        }
+    }
+
+
+    @Test
+    public void testImportedStyleSheets() {
+        final PsiFile componentFile = myFixture.configureByFiles("ComponentEs6Import.jsx")[0];
+        assertEquals(Lists.newArrayList(myFixture.findFileInTempDir("Component.css")), CssModulesUtil.getImportedStyleSheets(componentFile));
+    }
+
+
+    @Test
+    public void testValueResolvesThroughImports() {
+        copyValueStyleSheets();
+        myFixture.configureByFiles("ComponentValues.jsx");
+        final PsiReference reference = myFixture.getFile().findReferenceAt(myFixture.getFile().getText().indexOf("styles['brand']") + "styles['".length());
+        assertNotNull(reference);
+        final PsiElement value = reference.resolve();
+        assertNotNull(value);
+        assertEquals("Colors.css", value.getContainingFile().getName());
+        assertEquals("primary", value.getText());
+    }
+
+    @Test
+    public void testValueResolvesInDumbMode() {
+        copyValueStyleSheets();
+        myFixture.configureByFiles("ComponentValues.jsx");
+        DumbServiceImpl.getInstance(getProject()).setDumb(true);
+        try {
+            final PsiReference reference = myFixture.getFile().findReferenceAt(myFixture.getFile().getText().indexOf("styles['brand']") + "styles['".length());
+            assertNotNull(reference);
+            // imports aren't followed without the index
+            final PsiElement value = reference.resolve();
+            assertNotNull(value);
+            assertEquals("Values.css", value.getContainingFile().getName());
+            assertEquals("brand", value.getText());
+        } finally {
+            DumbServiceImpl.getInstance(getProject()).setDumb(false);
+        }
+    }
+
+    private void copyValueStyleSheets() {
+        myFixture.copyFileToProject("Colors.css");
+        myFixture.copyFileToProject("Theme.css");
+        myFixture.copyFileToProject("Values.css");
+    }
+
+    // --- line markers ---
+
+    @Test
+    public void testClassUsageLineMarker() {
+        myFixture.configureByFiles("ComponentFindUsages.css");
+        final List<GutterMark> gutters = myFixture.findGuttersAtCaret();
+        assertEquals(1, gutters.size());
+        assertTrue(gutters.get(0).getTooltipText().startsWith("Used 2 times in 1 component"));
+    }
+
+
+    // --- intentions ---
+
+    @Test
+    public void testCreateAllClassesIntention() {
+        myFixture.copyFileToProject("CreateAllClasses.css");
+        myFixture.configureByFiles("ComponentCreateAllClasses.jsx");
+        final PsiFile cssFile = PsiManager.getInstance(getProject()).findFile(myFixture.findFileInTempDir("CreateAllClasses.css"));
+        assertInstanceOf(cssFile, StylesheetFile.class);
+        final String cssText = cssFile.getText();
+        final String componentText = myFixture.getEditor().getDocument().getText();
+        myFixture.launchAction(myFixture.findSingleIntention("Create all missing CSS Modules classes"));
+        assertEquals("Wrong classes", Lists.newArrayList("existing", "header", "footer", "body"), getCssClassNames(cssFile));
+
+        // the rulesets of all style sheets are removed in a single undo step from the component editor
+        UndoManager.getInstance(getProject()).undo(TextEditorProvider.getInstance().getTextEditor(myFixture.getEditor()));
+        PsiDocumentManager.getInstance(getProject()).commitAllDocuments();
+        assertEquals(cssText, cssFile.getText());
+        assertEquals("Wrong classes", Lists.newArrayList("existing"), getCssClassNames(cssFile));
+        assertEquals(componentText, myFixture.getEditor().getDocument().getText());
+    }
+
+    private static List<String> getCssClassNames(PsiFile cssFile) {
+        final List<String> classNames = Lists.newArrayList();
+        for (CssClass cssClass : PsiTreeUtil.findChildrenOfType(cssFile, CssClass.class)) {
+            classNames.add(cssClass.getName());
+        }
+        return classNames;
+    }
+
+    // --- generated class names ---
+
+    @Test
+    public void testGeneratedClassName() {
+        // expected hashes are the output of css-loader 3 with loader-utils 1, which default to md4
+        assertEquals("Button__primary___1XFRy", CssModulesLocalIdentName.getGeneratedName("[name]__[local]___[hash:base64:5]", "src/Button.css", "primary"));
+        assertEquals("_1XFRyFln5PWvD9VIeKu7Fk", CssModulesLocalIdentName.getGeneratedName("[hash:base64]", "src/Button.css", "primary"));
+        assertEquals("primary-905b2c04", CssModulesLocalIdentName.getGeneratedName("[local]-[sha256:hash:hex:8]", "src/Button.css", "primary"));
+        assertEquals("Button-primary", CssModulesLocalIdentName.getGeneratedName("[name]-[local]", "src/Button.css", "primary"));
+        assertEquals("src-Button__primary", CssModulesLocalIdentName.getGeneratedName("[path][name]__[local]", "src/Button.css", "primary"));
+        assertEquals("Button__primary___1XFRy", CssModulesLocalIdentName.getGeneratedName("[NAME]__[Local]___[HASH:base64:5]", "src/Button.css", "primary"));
+        assertEquals("basesnuvxohdsbcckkcvwsxgikee", CssModulesLocalIdentName.getGeneratedName("[hash:base26]", "src/Button.css", "primary"));
+        assertEquals("ggBSREEyDgqQK3br54bHxb", CssModulesLocalIdentName.getGeneratedName("[hash:base58]", "src/Button.css", "primary"));
+        assertEquals("primary-", CssModulesLocalIdentName.getGeneratedName("[local]-[hash:base10]", "src/Button.css", "primary"));
+    }
+
+    @Test
+    public void testGeneratedClassNameIndex() {
+        final String generatedName = CssModulesLocalIdentName.getGeneratedName(CssModulesSettings.getInstance(getProject()).getLocalIdentName(),
+                CssModulesLocalIdentName.getRelativePath(getProject(), myFixture.findFileInTempDir("Component.css")), "normal");
+        final List<CssClass> cssClasses = CssModulesClassNameIndex.findClassesByGeneratedName(getProject(), generatedName);
+        assertEquals(1, cssClasses.size());
+        assertEquals("normal", cssClasses.get(0).getName());
+        assertEmpty(CssModulesClassNameIndex.findClassesByGeneratedName(getProject(), generatedName + "x"));
+        // the cached names follow the settings
+        final CssModulesSettings settings = CssModulesSettings.getInstance(getProject());
+        final String localIdentName = settings.getLocalIdentName();
+        settings.setLocalIdentName("[local]_[hash:base64:5]");
+        try {
+            assertEmpty(CssModulesClassNameIndex.findClassesByGeneratedName(getProject(), generatedName));
+            final String newGeneratedName = CssModulesLocalIdentName.getGeneratedName(settings.getLocalIdentName(),
+                    CssModulesLocalIdentName.getRelativePath(getProject(), myFixture.findFileInTempDir("Component.css")), "normal");
+            assertEquals(1, CssModulesClassNameIndex.findClassesByGeneratedName(getProject(), newGeneratedName).size());
+        } finally {
+            settings.setLocalIdentName(localIdentName);
+        }
+    }
+
+    private void setLocalsConvention(CssModulesLocalsConvention localsConvention) {
+        CssModulesSettings.getInstance(getProject()).setLocalsConvention(localsConvention);
+    }
+
 }
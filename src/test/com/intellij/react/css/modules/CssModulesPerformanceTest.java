@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2016-present, Jim Kynde Meyer
+ * All rights reserved.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+package com.intellij.react.css.modules;
+
+import com.intellij.codeInsight.daemon.impl.HighlightInfo;
+import com.intellij.codeInsight.lookup.LookupManager;
+import com.intellij.lang.annotation.HighlightSeverity;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.util.Ref;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.css.CssClass;
+import com.intellij.psi.css.StylesheetFile;
+import com.intellij.react.css.modules.psi.CssModulesUtil;
+import com.intellij.testFramework.PlatformTestUtil;
+import com.intellij.testFramework.fixtures.LightCodeInsightFixtureTestCase;
+import com.intellij.usageView.UsageInfo;
+import org.junit.Test;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Performance tests on generated style sheets with thousands of classes and components with hundreds of usages.
+ * The time budgets are meant to catch quadratic behaviour, so they are well above the expected timings.
+ */
+public class CssModulesPerformanceTest extends LightCodeInsightFixtureTestCase {
+
+    private static final int CLASS_COUNT = 2000;
+    private static final int NESTED_CLASS_COUNT = 1000;
+    private static final int USAGE_COUNT = 300;
+
+    private StylesheetFile stylesheetFile;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        stylesheetFile = (StylesheetFile) myFixture.addFileToProject("Large.css", createStylesheet());
+        myFixture.addFileToProject("Nested.scss", createNestedStylesheet());
+        final PsiFile component = myFixture.addFileToProject("LargeComponent.jsx", createComponent());
+        myFixture.configureFromExistingVirtualFile(component.getVirtualFile());
+    }
+
+
+    @Test
+    public void testHighlightingPerformance() {
+        PlatformTestUtil.startPerformanceTest("Highlighting of " + USAGE_COUNT + " usages", 10000, () -> {
+            for (HighlightInfo highlightInfo : myFixture.doHighlighting(HighlightSeverity.ERROR)) {
+                assertFalse(highlightInfo.getDescription(), StringUtil.startsWith(highlightInfo.getDescription(), "Unknown class name"));
+            }
+        }).setup(this::touchStylesheet).assertTiming();
+    }
+
+    @Test
+    public void testCompletionPerformance() {
+        myFixture.getEditor().getCaretModel().moveToOffset(myFixture.getFile().getText().indexOf("styles['']") + "styles['".length());
+        PlatformTestUtil.startPerformanceTest("Completion of " + CLASS_COUNT + " classes", 3000, () -> {
+            myFixture.completeBasic();
+            final List<String> completions = myFixture.getLookupElementStrings();
+            assertNotNull(completions);
+            assertTrue(completions.containsAll(CssModulesUtil.getCssClasses(stylesheetFile).keySet()));
+        }).setup(() -> {
+            LookupManager.getInstance(getProject()).hideActiveLookup();
+            touchStylesheet();
+        }).assertTiming();
+    }
+
+    @Test
+    public void testFindUsagesPerformance() {
+        PlatformTestUtil.startPerformanceTest("Find Usages in " + USAGE_COUNT + " usages", 5000, () -> {
+            final CssClass cssClass = CssModulesUtil.getCssClasses(stylesheetFile).get("class-0");
+            final Collection<UsageInfo> usages = myFixture.findUsages(cssClass);
+            assertTrue(usages.size() >= 2); // styles['class-0'] and styleName="class-0"
+        }).setup(this::touchStylesheet).assertTiming();
+    }
+
+    @Test
+    public void testRenamePerformance() {
+        final Ref<Integer> renameCount = new Ref<>(0);
+        PlatformTestUtil.startPerformanceTest("Rename with " + USAGE_COUNT + " usages", 5000, () -> {
+            final String oldName = renameCount.get() == 0 ? "class-1" : "renamed-" + renameCount.get();
+            final CssClass cssClass = CssModulesUtil.getCssClasses(stylesheetFile).get(oldName);
+            assertNotNull(oldName, cssClass);
+            renameCount.set(renameCount.get() + 1);
+            myFixture.renameElement(cssClass, "renamed-" + renameCount.get());
+        }).assertTiming();
+        assertTrue(myFixture.getFile().getText().contains("styles['renamed-" + renameCount.get() + "']"));
+    }
+
+
+    /**
+     * Modifies the style sheet to invalidate the cached classes, as when a shared style sheet is edited
+     */
+    private void touchStylesheet() {
+        final Document document = PsiDocumentManager.getInstance(getProject()).getDocument(stylesheetFile);
+        assertNotNull(document);
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+            document.insertString(document.getTextLength(), "\n/* touched */");
+            PsiDocumentManager.getInstance(getProject()).commitDocument(document);
+        });
+    }
+
+    private static String createStylesheet() {
+        final StringBuilder stylesheet = new StringBuilder();
+        for (int i = 0; i < CLASS_COUNT; i++) {
+            stylesheet.append(".class-").append(i).append(" {\n    color: red;\n}\n\n");
+        }
+        stylesheet.append(":global(.not-css-modules) {\n    fill: red;\n}\n");
+        return stylesheet.toString();
+    }
+
+    private static String createNestedStylesheet() {
+        final StringBuilder stylesheet = new StringBuilder();
+        for (int i = 0; i < NESTED_CLASS_COUNT; i++) {
+            stylesheet.append(".block-").append(i).append(" {\n    color: red;\n    .element-").append(i).append(" {\n        &:hover {\n            color: blue;\n        }\n    }\n}\n\n");
+        }
+        return stylesheet.toString();
+    }
+
+    private static String createComponent() {
+        final StringBuilder component = new StringBuilder();
+        component.append("import * as React from 'react';\n");
+        component.append("const styles = require(\"./Large.css\");\n");
+        component.append("import nested from './Nested.scss';\n\n");
+        component.append("export class LargeComponent extends React.Component {\n");
+        component.append("    render() {\n");
+        component.append("        const completion = styles[''];\n");
+        for (int i = 0; i < USAGE_COUNT; i++) {
+            component.append("        const class").append(i).append(" = styles['class-").append(i).append("'];\n");
+            component.append("        const element").append(i).append(" = nested['element-").append(i).append("'];\n");
+        }
+        component.append("        return (\n");
+        component.append("            <div>\n");
+        for (int i = 0; i < USAGE_COUNT; i++) {
+            component.append("                <div styleName=\"class-").append(i).append(" class-").append(CLASS_COUNT - 1 - i).append("\"></div>\n");
+        }
+        component.append("            </div>\n");
+        component.append("        );\n");
+        component.append("    }\n");
+        component.append("}\n");
+        return component.toString();
+    }
+
+}
@@ -0,0 +1,12 @@
+import * as React from 'react';
+const styles = require("./CreateAllClasses.css");
+
+export class Component1 extends React.Component {
+    render() {
+        const header = styles['he<caret>ader'];
+        const footer = styles['footer'];
+        return (
+            <div styleName="existing header body"></div>
+        );
+    }
+}
\ No newline at end of file
@@ -0,0 +1,13 @@
+import * as React from 'react';
+const styles = require("./DumbMode.css");
+
+export class Component1 extends React.Component {
+    render() {
+        const normal = styles['normal'];
+        const global = styles['<error descr="Unknown class name \"not-css-modules\"">not-css-modules</error>'];
+        const commented = styles['<error descr="Unknown class name \"commented-out\"">commented-out</error>'];
+        return (
+            <div styleName="normal <error descr="Unknown class name \"not-css-modules\"">not-css-modules</error> <error descr="Unknown class name \"commented-out\"">commented-out</error>"></div>
+        );
+    }
+}
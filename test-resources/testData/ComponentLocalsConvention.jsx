@@ -0,0 +1,11 @@
+import * as React from 'react';
+const styles = require("./LocalsConvention.css");
+
+export class Component1 extends React.Component {
+    render() {
+        const className = styles['nav<caret>'];
+        return (
+            <div className={className}></div>
+        );
+    }
+}
\ No newline at end of file
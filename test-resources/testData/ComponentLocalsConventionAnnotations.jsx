@@ -0,0 +1,14 @@
+import * as React from 'react';
+const styles = require("./LocalsConvention.css");
+
+export class Component1 extends React.Component {
+    render() {
+        const navItem = styles['navItem'];
+        const original = styles['nav-item'];
+        const navTitle = styles['navTitle'];
+        const invalid = styles['<error descr="Unknown class name \"navitem\"">navitem</error>'];
+        return (
+            <div styleName="nav-item <error descr="Unknown class name \"navItem\"">navItem</error>"></div>
+        );
+    }
+}
\ No newline at end of file
@@ -0,0 +1,13 @@
+import * as React from 'react';
+const styles = require("./LocalsConventionFindUsages.css");
+
+export class Component1 extends React.Component {
+    render() {
+        return (
+            <div className={styles['navItem']}>
+                <span className={styles['nav-item']}></span>
+                <span className={styles['navTitle']}></span>
+            </div>
+        );
+    }
+}
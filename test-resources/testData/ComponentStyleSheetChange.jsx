@@ -0,0 +1,12 @@
+import * as React from 'react';
+const styles = require("./Component.css");
+
+export class Component1 extends React.Component {
+    render() {
+        const normal = styles['normal'];
+        const invalid = styles['invalid'];
+        return (
+            <div styleName="normal invalid"></div>
+        );
+    }
+}
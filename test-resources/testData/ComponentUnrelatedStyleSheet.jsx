@@ -0,0 +1,12 @@
+import * as React from 'react';
+const styles = require("./LocalsConvention.css");
+
+export class Component2 extends React.Component {
+    render() {
+        const navItem = styles['nav-item'];
+        const invalid = styles['invalid'];
+        return (
+            <div className={navItem}></div>
+        );
+    }
+}
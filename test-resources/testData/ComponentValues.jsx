@@ -0,0 +1,14 @@
+import * as React from 'react';
+const styles = require("./Values.css");
+
+export class Component1 extends React.Component {
+    render() {
+        const button = styles['button'];
+        const brand = styles['brand'];
+        const small = styles['small'];
+        const invalid = styles['<error descr="Unknown class name \"primary\"">primary</error>'];
+        return (
+            <div className={button}></div>
+        );
+    }
+}
@@ -0,0 +1,10 @@
+import * as React from 'react';
+const styles = require("./Values.css");
+
+export class Component1 extends React.Component {
+    render() {
+        return (
+            <div className={styles['<caret>']}></div>
+        );
+    }
+}